@@ -0,0 +1,99 @@
+package com.equipment.tracker.benchmark;
+
+import com.equipment.tracker.entity.Category;
+import com.equipment.tracker.entity.EquipmentCondition;
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.entity.UuidV7;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Кодирование и разбор списка оборудования в JSON, CBOR и Smile теми же настройками
+ * ObjectMapper, что и в приложении. Размер ответа каждой кодировки печатается при подготовке.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EquipmentEncodingBenchmark {
+
+    private static final TypeReference<List<SportsEquipment>> LIST_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<SportsEquipment> equipment;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Неизвестная кодировка: " + format);
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Category category = new Category();
+            category.setCategoryId(i + 1);
+            category.setCategoryName("Категория " + i);
+            category.setDescription("Описание категории " + i);
+            categories.add(category);
+        }
+        List<EquipmentCondition> conditions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            EquipmentCondition condition = new EquipmentCondition();
+            condition.setConditionId(i + 1);
+            condition.setConditionName("Состояние " + i);
+            conditions.add(condition);
+        }
+        equipment = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            SportsEquipment item = new SportsEquipment();
+            ReflectionTestUtils.setField(item, "equipmentId", UuidV7.next());
+            item.setSerialNumber("SN-" + i);
+            item.setEquipmentName("Оборудование " + i);
+            item.setQuantity(i % 100);
+            item.setCategory(categories.get(i % categories.size()));
+            item.setCondition(conditions.get(i % conditions.size()));
+            item.setLastCheckDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            item.setEndOfServiceDate(LocalDate.of(2030, 1, 1).plusDays(i % 1000));
+            item.setDescription("Описание оборудования " + i);
+            equipment.add(item);
+        }
+        encoded = objectMapper.writeValueAsBytes(equipment);
+        System.out.printf("%n%s, %d строк: %d байт%n", format, rows, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(equipment);
+    }
+
+    @Benchmark
+    public List<SportsEquipment> decode() throws IOException {
+        return objectMapper.readValue(encoded, LIST_TYPE);
+    }
+}
@@ -0,0 +1,100 @@
+package com.equipment.tracker.benchmark;
+
+import com.equipment.tracker.entity.Category;
+import com.equipment.tracker.entity.EquipmentCondition;
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.entity.UuidV7;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация списка оборудования в JSON тем же ObjectMapper, что строит Spring:
+ * в массив байтов (как для кэша ответов) и в поток (как при выгрузке).
+ * Вариант sparse сериализует записи с полями таблицы на странице ({@code fields=}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EquipmentSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<SportsEquipment> equipment;
+    private List<Map<String, Object>> sparse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Category category = new Category();
+            category.setCategoryId(i + 1);
+            category.setCategoryName("Категория " + i);
+            category.setDescription("Описание категории " + i);
+            categories.add(category);
+        }
+        List<EquipmentCondition> conditions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            EquipmentCondition condition = new EquipmentCondition();
+            condition.setConditionId(i + 1);
+            condition.setConditionName("Состояние " + i);
+            conditions.add(condition);
+        }
+        equipment = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            SportsEquipment item = new SportsEquipment();
+            ReflectionTestUtils.setField(item, "equipmentId", UuidV7.next());
+            item.setSerialNumber("SN-" + i);
+            item.setEquipmentName("Оборудование " + i);
+            item.setQuantity(i % 100);
+            item.setCategory(categories.get(i % categories.size()));
+            item.setCondition(conditions.get(i % conditions.size()));
+            item.setLastCheckDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            item.setEndOfServiceDate(LocalDate.of(2030, 1, 1).plusDays(i % 1000));
+            item.setDescription("Описание оборудования " + i);
+            equipment.add(item);
+        }
+        sparse = new ArrayList<>(rows);
+        for (SportsEquipment item : equipment) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("equipmentId", item.getEquipmentId());
+            row.put("serialNumber", item.getSerialNumber());
+            row.put("equipmentName", item.getEquipmentName());
+            row.put("category", Map.of("categoryId", item.getCategory().getCategoryId(), "categoryName", item.getCategory().getCategoryName()));
+            row.put("quantity", item.getQuantity());
+            row.put("endOfServiceDate", item.getEndOfServiceDate());
+            sparse.add(row);
+        }
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(equipment);
+    }
+
+    @Benchmark
+    public void toStream() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), equipment);
+    }
+
+    @Benchmark
+    public byte[] sparseToBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(sparse);
+    }
+}
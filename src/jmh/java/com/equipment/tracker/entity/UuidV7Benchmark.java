@@ -0,0 +1,41 @@
+package com.equipment.tracker.entity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость генерации ключа оборудования: UuidV7.next() против UUID.randomUUID(),
+ * в одном потоке и в восьми, где потоки конкурируют за блокировку счётчика.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidV7Benchmark {
+
+    @Benchmark
+    public UUID uuidV7() {
+        return UuidV7.next();
+    }
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID uuidV7Contended() {
+        return UuidV7.next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID randomUuidContended() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,60 @@
+package com.equipment.tracker.exception;
+
+import com.equipment.tracker.controller.SportsEquipmentController;
+import com.equipment.tracker.entity.SportsEquipment;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Построение тела ответа об ошибке. Исключения создаются заранее,
+ * чтобы измерялась только работа обработчика.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private BadRequestException badRequest;
+    private NotFoundException notFound;
+    private MethodArgumentNotValidException validation;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        badRequest = new BadRequestException("Серийный номер не может быть пустым");
+        notFound = new NotFoundException("Оборудование не найдено с id: " + UUID.randomUUID());
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new SportsEquipment(), "sportsEquipment");
+        bindingResult.addError(new FieldError("sportsEquipment", "serialNumber", "Серийный номер не может быть пустым"));
+        bindingResult.addError(new FieldError("sportsEquipment", "equipmentName", "Название не может быть пустым"));
+        bindingResult.addError(new FieldError("sportsEquipment", "quantity", "Количество не может быть отрицательным"));
+        MethodParameter parameter = new MethodParameter(
+                SportsEquipmentController.class.getMethod("createEquipment", SportsEquipment.class), 0);
+        validation = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> badRequest() {
+        return handler.handleBadRequestException(badRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> notFound() {
+        return handler.handleNotFoundException(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> validation() {
+        return handler.handleValidationExceptions(validation);
+    }
+}
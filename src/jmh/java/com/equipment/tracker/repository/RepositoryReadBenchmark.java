@@ -0,0 +1,134 @@
+package com.equipment.tracker.repository;
+
+import com.equipment.tracker.SportsEquipmentTrackerApplication;
+import com.equipment.tracker.dto.CursorPage;
+import com.equipment.tracker.entity.Category;
+import com.equipment.tracker.entity.EquipmentCondition;
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.service.SportsEquipmentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение оборудования из встроенной H2 в режиме PostgreSQL через полный контекст приложения:
+ * поиск по id и серийному номеру, первая страница курсорной пагинации и полный отсортированный список.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class RepositoryReadBenchmark {
+
+    private static final int SEED_CHUNK = 1000;
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private SportsEquipmentRepository equipmentRepository;
+    private SportsEquipmentService equipmentService;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SportsEquipmentTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.com.equipment.tracker=WARN")
+                .run();
+        equipmentRepository = context.getBean(SportsEquipmentRepository.class);
+        equipmentService = context.getBean(SportsEquipmentService.class);
+        seed(context.getBean(CategoryRepository.class), context.getBean(EquipmentConditionRepository.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<SportsEquipment> findById() {
+        return equipmentRepository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public SportsEquipment findBySerialNumber() {
+        return equipmentRepository.findBySerialNumber("SN-" + ThreadLocalRandom.current().nextInt(rows));
+    }
+
+    @Benchmark
+    public CursorPage<SportsEquipment> firstPageByName() {
+        return equipmentService.getEquipmentPage("equipmentName", "asc", null, 50);
+    }
+
+    @Benchmark
+    public List<SportsEquipment> findAllSorted() {
+        return equipmentRepository.findAll(Sort.by("equipmentName"));
+    }
+
+    private void seed(CategoryRepository categoryRepository, EquipmentConditionRepository conditionRepository) {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Category category = new Category();
+            category.setCategoryName("Категория " + i);
+            categories.add(categoryRepository.save(category));
+        }
+        List<EquipmentCondition> conditions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            EquipmentCondition condition = new EquipmentCondition();
+            condition.setConditionName("Состояние " + i);
+            conditions.add(conditionRepository.save(condition));
+        }
+        ids = new UUID[rows];
+        List<SportsEquipment> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < rows; i++) {
+            SportsEquipment equipment = new SportsEquipment();
+            equipment.setSerialNumber("SN-" + i);
+            equipment.setEquipmentName("Оборудование " + (i * 7919 % rows));
+            equipment.setQuantity(i % 100);
+            equipment.setCategory(categories.get(i % categories.size()));
+            equipment.setCondition(conditions.get(i % conditions.size()));
+            equipment.setLastCheckDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            equipment.setEndOfServiceDate(LocalDate.of(2030, 1, 1).plusDays(i % 1000));
+            chunk.add(equipment);
+            if (chunk.size() == SEED_CHUNK) {
+                saveChunk(chunk, i + 1 - chunk.size());
+            }
+        }
+        saveChunk(chunk, rows - chunk.size());
+    }
+
+    /**
+     * ID назначаются при сохранении, поэтому запоминаются после saveAll.
+     */
+    private void saveChunk(List<SportsEquipment> chunk, int offset) {
+        equipmentRepository.saveAll(chunk);
+        for (int i = 0; i < chunk.size(); i++) {
+            ids[offset + i] = chunk.get(i).getEquipmentId();
+        }
+        chunk.clear();
+    }
+}
@@ -0,0 +1,56 @@
+package com.equipment.tracker.service;
+
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.exception.BadRequestException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка полей оборудования перед сохранением: корректная запись
+ * и запись, отклонённая на последней проверке.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidateEquipmentBenchmark {
+
+    private SportsEquipmentService service;
+    private SportsEquipment valid;
+    private SportsEquipment invalid;
+
+    @Setup
+    public void setUp() {
+        service = new SportsEquipmentService(null, null, null, null, null, null, null);
+        valid = equipment(LocalDate.of(2030, 1, 1));
+        invalid = equipment(null);
+    }
+
+    @Benchmark
+    public void valid() {
+        service.validateEquipment(valid);
+    }
+
+    @Benchmark
+    public void invalid(Blackhole blackhole) {
+        try {
+            service.validateEquipment(invalid);
+        } catch (BadRequestException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    private static SportsEquipment equipment(LocalDate endOfServiceDate) {
+        SportsEquipment equipment = new SportsEquipment();
+        equipment.setSerialNumber("SN-000001");
+        equipment.setEquipmentName("Мяч футбольный");
+        equipment.setQuantity(10);
+        equipment.setEndOfServiceDate(endOfServiceDate);
+        return equipment;
+    }
+}
@@ -0,0 +1,48 @@
+-- Сравнение вставки с ключами UUIDv4 и UUIDv7 в PostgreSQL.
+-- Запуск: psql -d sports_equipment -v rows=10000000 -f src/jmh/sql/uuid-insert-benchmark.sql
+-- Выводит время вставки (\timing), размер индекса первичного ключа и плотность его листовых страниц.
+\if :{?rows}
+\else
+\set rows 10000000
+\endif
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+
+DROP TABLE IF EXISTS bench_uuid_v4;
+DROP TABLE IF EXISTS bench_uuid_v7;
+CREATE TABLE bench_uuid_v4 (id uuid PRIMARY KEY, payload text NOT NULL);
+CREATE TABLE bench_uuid_v7 (id uuid PRIMARY KEY, payload text NOT NULL);
+
+-- Ключи с раскладкой UUIDv7: время в миллисекундах, версия 7, 12-битный счётчик, вариант RFC и случайные биты.
+-- Время и счётчик выводятся из номера строки, поэтому ключи строго возрастают, как у UuidV7.next()
+-- в одной JVM. Скрипт сравнивает только поведение индекса; стоимость самого генератора
+-- измеряет UuidV7Benchmark.
+CREATE OR REPLACE FUNCTION bench_uuid_v7(base_ms bigint, seq bigint) RETURNS uuid
+    LANGUAGE sql VOLATILE AS
+$$
+SELECT (lpad(to_hex(base_ms + seq / 4096), 12, '0')
+    || '7' || lpad(to_hex(seq % 4096), 3, '0')
+    || to_hex(8 + floor(random() * 4)::int)
+    || substr(md5(random()::text), 1, 15))::uuid;
+$$;
+
+\echo 'UUIDv4 insert'
+INSERT INTO bench_uuid_v4 SELECT gen_random_uuid(), repeat('x', 100) FROM generate_series(1, :rows);
+
+\echo 'UUIDv7 insert'
+INSERT INTO bench_uuid_v7
+SELECT bench_uuid_v7(floor(extract(epoch FROM now()) * 1000)::bigint, g), repeat('x', 100)
+FROM generate_series(1, :rows) g;
+
+SELECT 'v4' AS key_type,
+       pg_size_pretty(pg_relation_size('bench_uuid_v4_pkey')) AS pk_index_size,
+       (pgstatindex('bench_uuid_v4_pkey')).avg_leaf_density AS avg_leaf_density
+UNION ALL
+SELECT 'v7',
+       pg_size_pretty(pg_relation_size('bench_uuid_v7_pkey')),
+       (pgstatindex('bench_uuid_v7_pkey')).avg_leaf_density;
+
+DROP FUNCTION bench_uuid_v7(bigint, bigint);
+DROP TABLE bench_uuid_v4;
+DROP TABLE bench_uuid_v7;
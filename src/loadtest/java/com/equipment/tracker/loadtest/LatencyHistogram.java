@@ -0,0 +1,72 @@
+package com.equipment.tracker.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Потокобезопасная гистограмма задержек в микросекундах с логарифмическими интервалами.
+ * До 128 мкс значения хранятся точно, дальше каждая октава делится на 64 интервала,
+ * поэтому перцентиль завышается не более чем на 1,6 %. Память не зависит от числа запросов.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int LINEAR_LIMIT = 2 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(index(Long.MAX_VALUE) + 1);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    private final LongAdder total = new LongAdder();
+
+    void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(index(value));
+        max.accumulate(value);
+        total.increment();
+    }
+
+    long count() {
+        return total.sum();
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    /**
+     * @param quantile Доля от 0 до 1, например 0.999 для p99.9.
+     * @return Верхняя граница интервала, в который попадает перцентиль.
+     */
+    long percentile(double quantile) {
+        long count = total.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int index(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long upperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long mantissa = (index & ((1 << SUB_BUCKET_BITS) - 1)) + (1L << SUB_BUCKET_BITS);
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,171 @@
+package com.equipment.tracker.loadtest;
+
+import com.equipment.tracker.repository.EquipmentCursor;
+import com.equipment.tracker.repository.EquipmentSortKey;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Открытая модель нагрузки: запросы отправляются с постоянной частотой {@code --rate}
+ * независимо от того, ответил ли сервер на предыдущие. Число одновременно выполняемых запросов
+ * ограничено {@code --concurrency}; запрос, ждущий свободного места, остаётся в очереди драйвера.
+ * Задержка отсчитывается от запланированного момента отправки, поэтому ожидание в очереди
+ * и отставание от расписания при перегрузке сервера попадают в хвост задержек.
+ * Последовательность операций определяется seed.
+ */
+final class LoadDriver {
+
+    private static final String[] PAGE_SORTS = {"serialNumber", "equipmentName", "quantity", "endOfServiceDate", "createdAt"};
+
+    /**
+     * Результаты одной операции за время измерения.
+     */
+    static final class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+    }
+
+    private final LoadTestConfig config;
+    private final SyntheticDataGenerator.Dataset dataset;
+    private final SyntheticDataGenerator generator;
+    private final URI baseUri;
+    private final HttpClient client;
+    private final Operation.Mix mix;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    LoadDriver(LoadTestConfig config, SyntheticDataGenerator.Dataset dataset, SyntheticDataGenerator generator, URI baseUri) {
+        this.config = config;
+        this.dataset = dataset;
+        this.generator = generator;
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.mix = Operation.Mix.parse(config.mix());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    Map<Operation, Stats> run() {
+        long start = System.nanoTime();
+        long measureStart = start + config.warmup().toNanos();
+        long deadline = measureStart + config.duration().toNanos();
+        double intervalNanos = 1e9 / config.rate();
+        Semaphore inFlight = new Semaphore(config.concurrency());
+        Random random = new Random(config.seed());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long sequence = 0; ; sequence++) {
+                long scheduled = start + (long) (sequence * intervalNanos);
+                if (scheduled >= deadline) {
+                    break;
+                }
+                long wait;
+                while ((wait = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = mix.pick(random);
+                HttpRequest request = request(operation, random, sequence);
+                executor.submit(() -> execute(operation, request, scheduled, scheduled >= measureStart, inFlight));
+            }
+        }
+        return stats;
+    }
+
+    private void execute(Operation operation, HttpRequest request, long scheduled, boolean measured, Semaphore inFlight) {
+        int status;
+        try {
+            inFlight.acquire();
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } finally {
+                inFlight.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long elapsed = System.nanoTime() - scheduled;
+        if (measured) {
+            Stats operationStats = stats.get(operation);
+            operationStats.latency.record(elapsed / 1_000);
+            if (status < 200 || status >= 400) {
+                operationStats.errors.increment();
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, Random random, long sequence) {
+        return switch (operation) {
+            case PAGE -> get("/api/equipment/page?limit=50&sortBy=" + PAGE_SORTS[random.nextInt(PAGE_SORTS.length)]
+                    + "&sortDir=" + (random.nextBoolean() ? "ASC" : "DESC"));
+            case DEEP_PAGE -> {
+                int index = random.nextInt(dataset.rows());
+                String cursor = new EquipmentCursor(EquipmentSortKey.SERIAL_NUMBER, Sort.Direction.ASC,
+                        SyntheticDataGenerator.Dataset.serialNumber(index), dataset.id(index)).encode();
+                yield get("/api/equipment/page?limit=50&sortBy=serialNumber&sortDir=ASC&after=" + cursor);
+            }
+            case GET_BY_ID -> get("/api/equipment/" + dataset.id(random.nextInt(dataset.rows())));
+            case SEARCH -> get("/api/equipment/search?limit=50&categoryId="
+                    + dataset.categoryIds()[SyntheticDataGenerator.pickCategory(random, dataset.categoryIds().length)]
+                    + "&minQuantity=" + (1 + random.nextInt(10)));
+            case LIST_EQUIPMENT -> get("/api/equipment");
+            case CATEGORIES -> get("/api/categories");
+            case CONDITIONS -> get("/api/conditions");
+            case CREATE -> send("POST", "/api/equipment",
+                    equipmentJson("LT-" + config.seed() + "-" + sequence, random));
+            case UPDATE -> {
+                int index = random.nextInt(dataset.rows());
+                yield send("PUT", "/api/equipment/" + dataset.id(index),
+                        equipmentJson(SyntheticDataGenerator.Dataset.serialNumber(index), random));
+            }
+        };
+    }
+
+    private String equipmentJson(String serialNumber, Random random) {
+        int category = SyntheticDataGenerator.pickCategory(random, dataset.categoryIds().length);
+        return """
+                {"serialNumber":"%s","equipmentName":"%s","quantity":%d,\
+                "category":{"categoryId":%d},"condition":{"conditionId":%d},\
+                "lastCheckDate":"%s","endOfServiceDate":"%s"}"""
+                .formatted(serialNumber,
+                        SyntheticDataGenerator.equipmentName(random, category),
+                        SyntheticDataGenerator.quantity(random),
+                        dataset.categoryIds()[category],
+                        dataset.conditionIds()[SyntheticDataGenerator.pickCondition(random)],
+                        config.referenceDate().minusDays(random.nextInt(365)),
+                        generator.endOfServiceDate(random));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest send(String method, String path, String json) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
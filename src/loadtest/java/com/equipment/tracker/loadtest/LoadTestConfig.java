@@ -0,0 +1,61 @@
+package com.equipment.tracker.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного прогона. Задаются аргументами вида {@code --name=value};
+ * при одинаковых параметрах и seed прогон воспроизводит те же данные и ту же последовательность запросов.
+ * @param seed Начальное значение генераторов случайных чисел.
+ * @param rows Количество записей оборудования в сгенерированной базе.
+ * @param referenceDate Дата, относительно которой генерируются даты проверок и списания.
+ * @param rate Частота отправки запросов в секунду.
+ * @param concurrency Предельное число одновременно выполняемых запросов.
+ * @param warmup Длительность прогрева; запросы прогрева не попадают в отчёт.
+ * @param duration Длительность измерения.
+ * @param mix Доли операций, например {@code page=35,getById=30,create=5}.
+ * @param poolSize Размер пула соединений с базой.
+ * @param report Файл JSON-отчёта.
+ */
+record LoadTestConfig(long seed, int rows, LocalDate referenceDate, int rate, int concurrency, Duration warmup, Duration duration,
+                      String mix, int poolSize, Path report) {
+
+    static final String DEFAULT_MIX = "page=30,deepPage=10,getById=25,search=10,categories=8,conditions=5,create=7,update=5";
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидался аргумент вида --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestConfig config = new LoadTestConfig(
+                Long.parseLong(take(values, "seed", "42")),
+                Integer.parseInt(take(values, "rows", "1000000")),
+                LocalDate.parse(take(values, "referenceDate", "2026-01-01")),
+                Integer.parseInt(take(values, "rate", "1000")),
+                Integer.parseInt(take(values, "concurrency", "64")),
+                Duration.ofSeconds(Long.parseLong(take(values, "warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(take(values, "duration", "60"))),
+                take(values, "mix", DEFAULT_MIX),
+                Integer.parseInt(take(values, "pool", "20")),
+                Path.of(take(values, "report", "target/loadtest-report.json")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Неизвестные параметры: " + values.keySet());
+        }
+        if (config.rate() <= 0 || config.concurrency() <= 0) {
+            throw new IllegalArgumentException("Частота и число одновременных запросов должны быть положительными");
+        }
+        return config;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,116 @@
+package com.equipment.tracker.loadtest;
+
+import com.equipment.tracker.SportsEquipmentTrackerApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Нагрузочный прогон: запускает приложение на встроенной H2 в режиме PostgreSQL,
+ * заполняет базу синтетическими данными и нагружает REST API заданной смесью операций.
+ * По каждой операции выводятся количество запросов, ошибки, пропускная способность
+ * и задержки p50, p99, p99.9; тот же отчёт сохраняется в JSON.
+ * <p>
+ * Запуск: {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rows=2000000 --rate=2000 --duration=120"}
+ */
+public final class LoadTestRunner {
+
+    /**
+     * Строка отчёта по одной операции. Задержки в миллисекундах.
+     */
+    record OperationReport(String operation, String endpoint, long requests, long errors, double throughput,
+                           double p50, double p99, double p999, double max) {
+    }
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        try (ConfigurableApplicationContext context = startApplication(config)) {
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(config.seed(), config.referenceDate());
+            long seedStart = System.nanoTime();
+            SyntheticDataGenerator.Dataset dataset = generator.generate(context.getBean(DataSource.class), config.rows());
+            System.out.printf("Данные сгенерированы за %.1f с%n", (System.nanoTime() - seedStart) / 1e9);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadDriver driver = new LoadDriver(config, dataset, generator, URI.create("http://localhost:" + port));
+            System.out.printf("Нагрузка: %d запросов/с, до %d одновременно, прогрев %d с, измерение %d с, смесь %s%n",
+                    config.rate(), config.concurrency(), config.warmup().toSeconds(), config.duration().toSeconds(), config.mix());
+            Map<Operation, LoadDriver.Stats> stats = driver.run();
+
+            List<OperationReport> reports = report(stats, config.duration().toMillis() / 1000.0);
+            print(reports);
+            write(config, reports);
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config) {
+        return new SpringApplicationBuilder(SportsEquipmentTrackerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.hikari.maximum-pool-size=" + config.poolSize(),
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.com.equipment.tracker=WARN")
+                .run();
+    }
+
+    private static List<OperationReport> report(Map<Operation, LoadDriver.Stats> stats, double seconds) {
+        List<OperationReport> reports = new ArrayList<>();
+        stats.forEach((operation, operationStats) -> {
+            LatencyHistogram latency = operationStats.latency;
+            if (latency.count() == 0) {
+                return;
+            }
+            reports.add(new OperationReport(operation.name(), operation.endpoint(), latency.count(),
+                    operationStats.errors.sum(), latency.count() / seconds,
+                    latency.percentile(0.50) / 1000.0, latency.percentile(0.99) / 1000.0,
+                    latency.percentile(0.999) / 1000.0, latency.max() / 1000.0));
+        });
+        return reports;
+    }
+
+    private static void print(List<OperationReport> reports) {
+        System.out.printf("%-36s %10s %8s %10s %9s %9s %9s %9s%n",
+                "Операция", "Запросов", "Ошибок", "Запр./с", "p50, мс", "p99, мс", "p99.9, мс", "max, мс");
+        for (OperationReport r : reports) {
+            System.out.printf("%-36s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.endpoint(), r.requests(), r.errors(), r.throughput(), r.p50(), r.p99(), r.p999(), r.max());
+        }
+    }
+
+    private static void write(LoadTestConfig config, List<OperationReport> reports) throws Exception {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("seed", config.seed());
+        document.put("rows", config.rows());
+        document.put("rate", config.rate());
+        document.put("concurrency", config.concurrency());
+        document.put("durationSeconds", config.duration().toSeconds());
+        document.put("mix", config.mix());
+        document.put("operations", reports);
+        if (config.report().getParent() != null) {
+            Files.createDirectories(config.report().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(config.report().toFile(), document);
+        System.out.println("Отчёт сохранён в " + config.report().toAbsolutePath());
+    }
+}
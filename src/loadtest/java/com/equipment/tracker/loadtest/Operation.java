@@ -0,0 +1,82 @@
+package com.equipment.tracker.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Операции нагрузочного профиля. Короткое имя используется в параметре {@code --mix}.
+ */
+enum Operation {
+    PAGE("page", "GET /api/equipment/page"),
+    DEEP_PAGE("deepPage", "GET /api/equipment/page?after="),
+    GET_BY_ID("getById", "GET /api/equipment/{id}"),
+    SEARCH("search", "GET /api/equipment/search"),
+    LIST_EQUIPMENT("listEquipment", "GET /api/equipment"),
+    CATEGORIES("categories", "GET /api/categories"),
+    CONDITIONS("conditions", "GET /api/conditions"),
+    CREATE("create", "POST /api/equipment"),
+    UPDATE("update", "PUT /api/equipment/{id}");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная операция " + key + ", допустимые: "
+                + Arrays.stream(values()).map(o -> o.key).toList());
+    }
+
+    /**
+     * Взвешенный выбор операции по строке вида {@code page=35,getById=30}.
+     */
+    record Mix(Operation[] operations, int[] cumulativeWeights) {
+
+        static Mix parse(String spec) {
+            List<Operation> operations = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int total = 0;
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split("=");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Ожидалось operation=weight: " + part);
+                }
+                int weight = Integer.parseInt(pair[1].trim());
+                if (weight <= 0) {
+                    continue;
+                }
+                total += weight;
+                operations.add(fromKey(pair[0].trim()));
+                cumulative.add(total);
+            }
+            if (operations.isEmpty()) {
+                throw new IllegalArgumentException("Смесь операций пуста: " + spec);
+            }
+            return new Mix(operations.toArray(Operation[]::new), cumulative.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Operation pick(Random random) {
+            int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+    }
+}
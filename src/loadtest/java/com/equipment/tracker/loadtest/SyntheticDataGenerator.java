@@ -0,0 +1,230 @@
+package com.equipment.tracker.loadtest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Детерминированный генератор справочников и оборудования.
+ * Записи вставляются пакетами JDBC в обход JPA, а вторичные индексы строятся после загрузки.
+ * Распределения приближены к реальному учёту: несколько крупных категорий,
+ * большинство единиц в хорошем состоянии, штучный инвентарь преобладает над расходным.
+ */
+final class SyntheticDataGenerator {
+
+    static final Map<String, List<String>> CATALOGUE = new LinkedHashMap<>();
+    static final List<String> CONDITIONS = List.of("Хорошее", "Удовлетворительное", "Новое", "Требует ремонта", "Списано");
+    private static final int[] CONDITION_WEIGHTS = {45, 25, 15, 10, 5};
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_SIZE = 20_000;
+    private static final long BASE_TIMESTAMP = 1_704_067_200_000L;
+    private static final List<List<String>> NAMES_BY_CATEGORY;
+
+    static {
+        CATALOGUE.put("Мячи", List.of("Мяч футбольный", "Мяч баскетбольный", "Мяч волейбольный", "Мяч гандбольный", "Мяч теннисный"));
+        CATALOGUE.put("Свободные веса", List.of("Гантель", "Гиря", "Штанга олимпийская", "Блин для штанги", "Медбол"));
+        CATALOGUE.put("Гимнастика", List.of("Мат гимнастический", "Скакалка", "Обруч", "Шведская стенка", "Гимнастическая скамья"));
+        CATALOGUE.put("Тренажёры", List.of("Беговая дорожка", "Велотренажёр", "Эллиптический тренажёр", "Гребной тренажёр", "Силовая рама"));
+        CATALOGUE.put("Зимний инвентарь", List.of("Лыжи беговые", "Лыжные палки", "Коньки хоккейные", "Коньки фигурные", "Клюшка хоккейная"));
+        CATALOGUE.put("Ракеточные виды", List.of("Ракетка теннисная", "Ракетка для бадминтона", "Ракетка для настольного тенниса", "Сетка теннисная", "Волан"));
+        CATALOGUE.put("Единоборства", List.of("Перчатки боксёрские", "Груша боксёрская", "Лапа тренерская", "Шлем защитный", "Татами"));
+        CATALOGUE.put("Плавание", List.of("Доска для плавания", "Колобашка", "Ласты", "Очки для плавания", "Разделительная дорожка"));
+        NAMES_BY_CATEGORY = List.copyOf(CATALOGUE.values());
+    }
+
+    /**
+     * Сгенерированные данные, по которым нагрузочный клиент выбирает существующие записи.
+     * ID и серийный номер записи однозначно определяются её порядковым номером.
+     */
+    record Dataset(int[] categoryIds, int[] conditionIds, long[] idHigh, long[] idLow) {
+
+        int rows() {
+            return idHigh.length;
+        }
+
+        UUID id(int index) {
+            return new UUID(idHigh[index], idLow[index]);
+        }
+
+        static String serialNumber(int index) {
+            return String.format("SN-%08d", index);
+        }
+    }
+
+    private final long seed;
+    private final LocalDate referenceDate;
+
+    SyntheticDataGenerator(long seed, LocalDate referenceDate) {
+        this.seed = seed;
+        this.referenceDate = referenceDate;
+    }
+
+    Dataset generate(DataSource dataSource, int rows) throws SQLException {
+        Random random = new Random(seed);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            int[] categoryIds = insertCategories(connection);
+            int[] conditionIds = insertConditions(connection);
+            connection.commit();
+
+            long[] idHigh = new long[rows];
+            long[] idLow = new long[rows];
+            insertEquipment(connection, random, categoryIds, conditionIds, idHigh, idLow);
+            createIndexes(connection);
+            return new Dataset(categoryIds, conditionIds, idHigh, idLow);
+        }
+    }
+
+    /**
+     * Категория с убывающей частотой: первая в каталоге встречается чаще всех.
+     */
+    static int pickCategory(Random random, int categories) {
+        double skewed = Math.pow(random.nextDouble(), 1.6);
+        return (int) (skewed * categories);
+    }
+
+    static int pickCondition(Random random) {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < CONDITION_WEIGHTS.length; i++) {
+            roll -= CONDITION_WEIGHTS[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return CONDITION_WEIGHTS.length - 1;
+    }
+
+    static String equipmentName(Random random, int category) {
+        List<String> names = NAMES_BY_CATEGORY.get(category);
+        return names.get(random.nextInt(names.size())) + " модель " + (1 + random.nextInt(40));
+    }
+
+    static int quantity(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 70) {
+            return 1 + random.nextInt(5);
+        }
+        if (roll < 95) {
+            return 6 + random.nextInt(45);
+        }
+        return 51 + random.nextInt(450);
+    }
+
+    LocalDate lastCheckDate(Random random) {
+        return random.nextInt(10) == 0 ? null : referenceDate.minusDays(random.nextInt(730));
+    }
+
+    LocalDate endOfServiceDate(Random random) {
+        return referenceDate.plusDays(random.nextInt(11 * 365) - 365L);
+    }
+
+    private int[] insertCategories(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO category (category_name, description) VALUES (?, ?)")) {
+            for (String name : CATALOGUE.keySet()) {
+                insert.setString(1, name);
+                insert.setString(2, "Категория «" + name + "»");
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        return selectIds(connection, "SELECT category_id FROM category ORDER BY category_id");
+    }
+
+    private int[] insertConditions(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO equipment_condition (condition_name) VALUES (?)")) {
+            for (String name : CONDITIONS) {
+                insert.setString(1, name);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        return selectIds(connection, "SELECT condition_id FROM equipment_condition ORDER BY condition_id");
+    }
+
+    private static int[] selectIds(Connection connection, String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getInt(1));
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void insertEquipment(Connection connection, Random random, int[] categoryIds, int[] conditionIds,
+                                 long[] idHigh, long[] idLow) throws SQLException {
+        String sql = "INSERT INTO sports_equipment (equipment_id, category_id, serial_number, equipment_name, quantity, "
+                + "condition_id, last_check_date, end_of_service_date, created_at, updated_at, description, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        int rows = idHigh.length;
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                // UUIDv7 с синтетическим временем: записи создавались с шагом в 10 мс.
+                long timestamp = BASE_TIMESTAMP + i * 10L;
+                idHigh[i] = (timestamp << 16) | (0x7L << 12) | random.nextInt(1 << 12);
+                idLow[i] = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+                int category = pickCategory(random, categoryIds.length);
+                String name = equipmentName(random, category);
+                LocalDate lastCheck = lastCheckDate(random);
+
+                insert.setObject(1, new UUID(idHigh[i], idLow[i]));
+                insert.setInt(2, categoryIds[category]);
+                insert.setString(3, Dataset.serialNumber(i));
+                insert.setString(4, name);
+                insert.setInt(5, quantity(random));
+                insert.setInt(6, conditionIds[pickCondition(random)]);
+                insert.setDate(7, lastCheck != null ? Date.valueOf(lastCheck) : null);
+                insert.setDate(8, Date.valueOf(endOfServiceDate(random)));
+                insert.setTimestamp(9, new Timestamp(timestamp));
+                insert.setTimestamp(10, new Timestamp(timestamp));
+                insert.setString(11, random.nextInt(3) == 0 ? null : name + ", инвентарный номер " + Dataset.serialNumber(i));
+                insert.setLong(12, 0L);
+                insert.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+                if ((i + 1) % COMMIT_SIZE == 0) {
+                    connection.commit();
+                }
+                if ((i + 1) % Math.max(1, rows / 10) == 0) {
+                    System.out.printf("Сгенерировано %,d из %,d записей%n", i + 1, rows);
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    /**
+     * Вторичные индексы из миграций V2 и V5 в синтаксисе, который понимает H2.
+     * Строятся после загрузки, чтобы не замедлять вставку.
+     */
+    private static void createIndexes(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX idx_sports_equipment_category ON sports_equipment (category_id)");
+            statement.execute("CREATE INDEX idx_sports_equipment_condition ON sports_equipment (condition_id)");
+            statement.execute("CREATE INDEX idx_sports_equipment_end_of_service_id ON sports_equipment (end_of_service_date, equipment_id)");
+            statement.execute("CREATE INDEX idx_sports_equipment_last_check ON sports_equipment (last_check_date)");
+            statement.execute("CREATE INDEX idx_sports_equipment_created_at_id ON sports_equipment (created_at, equipment_id)");
+            statement.execute("CREATE INDEX idx_sports_equipment_updated_at_id ON sports_equipment (updated_at, equipment_id)");
+            statement.execute("CREATE INDEX idx_sports_equipment_name_id ON sports_equipment (equipment_name, equipment_id)");
+            statement.execute("CREATE INDEX idx_sports_equipment_quantity_id ON sports_equipment (quantity, equipment_id)");
+        }
+        connection.commit();
+    }
+}
@@ -2,21 +2,24 @@ package com.equipment.tracker.controller;
 
 import com.equipment.tracker.entity.Category;
 import com.equipment.tracker.service.CategoryService;
+import com.equipment.tracker.service.CollectionVersions;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/categories")
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final SerializedResponseCache responseCache;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, SerializedResponseCache responseCache) {
         this.categoryService = categoryService;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -46,13 +49,13 @@ public class CategoryController {
      * Поддерживает сортировку по имени категории.
      * @param sortBy Поле для сортировки (по умолчанию "categoryName").
      * @param sortDir Направление сортировки (ASC или DESC, по умолчанию "ASC").
-     * @return Список категорий и статус 200 OK.
+     * @return Список категорий и статус 200 OK
+     * или 304 Not Modified, если список не изменился с версии из If-None-Match.
      */
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories(@RequestParam(defaultValue = "categoryName") String sortBy, @RequestParam(defaultValue = "ASC") String sortDir) {
+    public ResponseEntity<byte[]> getAllCategories(@RequestParam(defaultValue = "categoryName") String sortBy, @RequestParam(defaultValue = "ASC") String sortDir, WebRequest request) {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
-        List<Category> categories = categoryService.getAllCategories(sort);
-        return ResponseEntity.ok(categories);
+        return responseCache.respond(request, CollectionVersions.Kind.CATEGORIES, sort.toString(), () -> categoryService.getAllCategories(sort));
     }
 
     /**
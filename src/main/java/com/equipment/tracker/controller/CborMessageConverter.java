@@ -0,0 +1,19 @@
+package com.equipment.tracker.controller;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ответы в CBOR ({@code Accept: application/cbor}) для клиентов, которые часто забирают
+ * большие списки. ObjectMapper собирается тем же построителем, что и для JSON,
+ * поэтому имена, порядок и формат полей совпадают с JSON-ответами.
+ */
+@Component
+public class CborMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    public CborMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        super(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,195 @@
+package com.equipment.tracker.controller;
+
+import com.equipment.tracker.service.ChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Лента изменений для подписчиков Server-Sent Events.
+ * Соединение SSE держится асинхронным запросом сервлета и не занимает поток,
+ * поэтому простаивающий клиент стоит только памяти под SseEmitter.
+ * Событие сериализуется один раз после фиксации транзакции и кладётся в ограниченную очередь
+ * каждого подписчика. Очередь разбирается отдельной задачей, так что медленный клиент
+ * задерживает только себя. Подписчик, у которого очередь переполнилась или отправка
+ * висит дольше equipment.change-feed.send-timeout-ms, отключается и переподключится сам.
+ */
+@Component
+public class ChangeFeed {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeed.class);
+    private static final long RECONNECT_MILLIS = 5000;
+
+    private final ObjectMapper objectMapper;
+    private final Executor delivery;
+    private final int queueCapacity;
+    private final long sendTimeoutNanos;
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private long sequence;
+
+    @Autowired
+    public ChangeFeed(ObjectMapper objectMapper,
+                      @Value("${equipment.change-feed.queue-capacity:256}") int queueCapacity,
+                      @Value("${equipment.change-feed.send-timeout-ms:30000}") long sendTimeoutMillis) {
+        this(objectMapper, Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-feed-", 0).factory()),
+                queueCapacity, sendTimeoutMillis);
+    }
+
+    ChangeFeed(ObjectMapper objectMapper, Executor delivery, int queueCapacity, long sendTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.delivery = delivery;
+        this.queueCapacity = queueCapacity;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+    }
+
+    /**
+     * Открывает подписку. Время жизни соединения ограничено spring.mvc.async.request-timeout,
+     * после него браузер переподключается сам.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter();
+        register(emitter).enqueue(() -> SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("connected"));
+        return emitter;
+    }
+
+    Subscriber register(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.put(emitter, subscriber);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        return subscriber;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Вызывается после фиксации транзакции, в которой произошло изменение. Вне транзакции
+     * (справочники сохраняются транзакциями репозитория) событие рассылается сразу.
+     * Номер назначается и событие раскладывается по очередям под одной блокировкой,
+     * поэтому все подписчики получают события в порядке номеров.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            logger.warn("Не удалось сериализовать событие {} {} {}", event.kind(), event.type(), event.id(), e);
+            return;
+        }
+        synchronized (subscribers) {
+            String id = String.valueOf(++sequence);
+            broadcast(() -> SseEmitter.event().id(id).name("change").data(data));
+        }
+    }
+
+    /**
+     * Комментарий раз в несколько секунд не даёт прокси закрыть простаивающее соединение
+     * и выявляет отключившихся и зависших клиентов.
+     */
+    @Scheduled(fixedDelayString = "${equipment.change-feed.heartbeat-ms:20000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers.values()) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > sendTimeoutNanos) {
+                disconnect(subscriber, "отправка не завершилась за отведённое время");
+            }
+        }
+        if (!subscribers.isEmpty()) {
+            synchronized (subscribers) {
+                broadcast(() -> SseEmitter.event().comment("ping"));
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.keySet().forEach(SseEmitter::complete);
+        subscribers.clear();
+        if (delivery instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    // Построитель события одноразовый, поэтому для каждого подписчика создаётся новый.
+    private void broadcast(Supplier<SseEmitter.SseEventBuilder> event) {
+        for (Subscriber subscriber : subscribers.values()) {
+            if (!subscriber.enqueue(event)) {
+                disconnect(subscriber, "очередь событий переполнена");
+            }
+        }
+    }
+
+    /**
+     * Забывает подписчика и закрывает его соединение. Закрытие ждёт зависшую отправку,
+     * поэтому выполняется задачей доставки, а не в потоке рассылки.
+     */
+    private void disconnect(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber.emitter, subscriber)) {
+            logger.warn("Подписчик ленты изменений отключён: {}", reason);
+            delivery.execute(subscriber.emitter::complete);
+        }
+    }
+
+    /**
+     * Очередь одного подписчика. Её разбирает не больше одной задачи доставки за раз,
+     * так что события уходят клиенту по порядку.
+     */
+    final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        boolean enqueue(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (!queue.offer(event)) {
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                delivery.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            do {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while ((event = queue.poll()) != null) {
+                    sendingSince = System.nanoTime();
+                    try {
+                        emitter.send(event.get());
+                    } catch (IOException | IllegalStateException e) {
+                        // Ошибку соединения обрабатывает контейнер сервлетов, здесь подписчик только забывается.
+                        subscribers.remove(emitter, this);
+                        return;
+                    } finally {
+                        sendingSince = 0;
+                    }
+                }
+                draining.set(false);
+                // Событие могло прийти между последним poll и сбросом флага.
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
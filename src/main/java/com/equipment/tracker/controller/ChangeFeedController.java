@@ -0,0 +1,29 @@
+package com.equipment.tracker.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+public class ChangeFeedController {
+
+    private final ChangeFeed changeFeed;
+
+    public ChangeFeedController(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Подписывает клиента на изменения оборудования, категорий и состояний.
+     * Каждое событие {@code change} содержит JSON с полями kind (EQUIPMENT, CATEGORIES, CONDITIONS),
+     * type (CREATED, UPDATED, DELETED), id и data — запись после изменения, для удаления null.
+     * @return Поток Server-Sent Events.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return changeFeed.subscribe();
+    }
+}
@@ -0,0 +1,34 @@
+package com.equipment.tracker.controller;
+
+import com.equipment.tracker.dto.EquipmentChanges;
+import com.equipment.tracker.service.EquipmentChangesService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/equipment/changes")
+public class EquipmentChangesController {
+
+    private final EquipmentChangesService changesService;
+
+    public EquipmentChangesController(EquipmentChangesService changesService) {
+        this.changesService = changesService;
+    }
+
+    /**
+     * Возвращает изменения оборудования после позиции клиента.
+     * Клиент повторяет запрос с токеном next, пока hasMore равен true, и сохраняет последний токен
+     * до следующей синхронизации. Ответ 410 означает, что токен устарел и данные нужно загрузить заново.
+     * @param since Токен next из предыдущего ответа. Без него изменения выдаются с самого начала.
+     * @param limit Максимальное количество изменений в ответе (по умолчанию 100, не более 500).
+     * @return Изменённые записи, ID удалённых записей, токен следующего запроса и статус 200 OK.
+     */
+    @GetMapping
+    public ResponseEntity<EquipmentChanges> getChanges(@RequestParam(required = false) String since,
+                                                       @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(changesService.getChanges(since, limit));
+    }
+}
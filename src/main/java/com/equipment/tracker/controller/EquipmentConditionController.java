@@ -1,22 +1,25 @@
 package com.equipment.tracker.controller;
 
 import com.equipment.tracker.entity.EquipmentCondition;
+import com.equipment.tracker.service.CollectionVersions;
 import com.equipment.tracker.service.EquipmentConditionService;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/conditions")
 public class EquipmentConditionController {
 
     private final EquipmentConditionService conditionService;
+    private final SerializedResponseCache responseCache;
 
-    public EquipmentConditionController(EquipmentConditionService conditionService) {
+    public EquipmentConditionController(EquipmentConditionService conditionService, SerializedResponseCache responseCache) {
         this.conditionService = conditionService;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -46,13 +49,13 @@ public class EquipmentConditionController {
      * Поддерживает сортировку по имени состояния.
      * @param sortBy Поле для сортировки (по умолчанию "conditionName").
      * @param sortDir Направление сортировки (ASC или DESC, по умолчанию "ASC").
-     * @return Список состояний и статус 200 OK.
+     * @return Список состояний и статус 200 OK
+     * или 304 Not Modified, если список не изменился с версии из If-None-Match.
      */
     @GetMapping
-    public ResponseEntity<List<EquipmentCondition>> getAllConditions(@RequestParam(defaultValue = "conditionName") String sortBy, @RequestParam(defaultValue = "ASC") String sortDir) {
+    public ResponseEntity<byte[]> getAllConditions(@RequestParam(defaultValue = "conditionName") String sortBy, @RequestParam(defaultValue = "ASC") String sortDir, WebRequest request) {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
-        List<EquipmentCondition> conditions = conditionService.getAllConditions(sort);
-        return ResponseEntity.ok(conditions);
+        return responseCache.respond(request, CollectionVersions.Kind.CONDITIONS, sort.toString(), () -> conditionService.getAllConditions(sort));
     }
 
     /**
@@ -0,0 +1,37 @@
+package com.equipment.tracker.controller;
+
+import com.equipment.tracker.service.EquipmentExportFormat;
+import com.equipment.tracker.service.EquipmentExportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/equipment/export")
+public class EquipmentExportController {
+
+    private final EquipmentExportService exportService;
+
+    public EquipmentExportController(EquipmentExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Потоково выгружает всё оборудование.
+     * @param format Формат выгрузки: ndjson (по умолчанию) или csv.
+     * @return Поток записей и статус 200 OK.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportEquipment(@RequestParam(defaultValue = "ndjson") String format) {
+        EquipmentExportFormat exportFormat = EquipmentExportFormat.fromString(format);
+        StreamingResponseBody body = out -> exportService.exportEquipment(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"equipment." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+}
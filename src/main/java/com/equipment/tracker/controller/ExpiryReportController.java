@@ -0,0 +1,59 @@
+package com.equipment.tracker.controller;
+
+import com.equipment.tracker.exception.BadRequestException;
+import com.equipment.tracker.service.EquipmentExportFormat;
+import com.equipment.tracker.service.EquipmentExportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/equipment/expiry")
+public class ExpiryReportController {
+
+    private static final int MAX_DAYS = 3650;
+
+    private final EquipmentExportService exportService;
+
+    public ExpiryReportController(EquipmentExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Потоково выгружает оборудование, срок службы которого заканчивается в ближайшие дни.
+     * @param days Горизонт в днях (по умолчанию 30).
+     * @param format Формат выгрузки: ndjson (по умолчанию) или csv.
+     * @return Оборудование в порядке даты окончания срока службы и статус 200 OK.
+     */
+    @GetMapping("/end-of-service")
+    public ResponseEntity<StreamingResponseBody> getExpiring(@RequestParam(defaultValue = "30") int days, @RequestParam(defaultValue = "ndjson") String format) {
+        validateDays(days);
+        EquipmentExportFormat exportFormat = EquipmentExportFormat.fromString(format);
+        StreamingResponseBody body = out -> exportService.exportExpiring(days, exportFormat, out);
+        return ResponseEntity.ok().contentType(exportFormat.getMediaType()).body(body);
+    }
+
+    /**
+     * Потоково выгружает оборудование с просроченной проверкой.
+     * Оборудование, которое ни разу не проверялось, в отчёт не попадает.
+     * @param intervalDays Допустимый интервал между проверками в днях (по умолчанию 365).
+     * @param format Формат выгрузки: ndjson (по умолчанию) или csv.
+     * @return Оборудование в порядке даты последней проверки и статус 200 OK.
+     */
+    @GetMapping("/overdue-checks")
+    public ResponseEntity<StreamingResponseBody> getCheckOverdue(@RequestParam(defaultValue = "365") int intervalDays, @RequestParam(defaultValue = "ndjson") String format) {
+        validateDays(intervalDays);
+        EquipmentExportFormat exportFormat = EquipmentExportFormat.fromString(format);
+        StreamingResponseBody body = out -> exportService.exportCheckOverdue(intervalDays, exportFormat, out);
+        return ResponseEntity.ok().contentType(exportFormat.getMediaType()).body(body);
+    }
+
+    private static void validateDays(int days) {
+        if (days < 0 || days > MAX_DAYS) {
+            throw new BadRequestException("Количество дней должно быть от 0 до " + MAX_DAYS);
+        }
+    }
+}
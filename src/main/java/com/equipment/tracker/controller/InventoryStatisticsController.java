@@ -0,0 +1,31 @@
+package com.equipment.tracker.controller;
+
+import com.equipment.tracker.dto.InventoryStatistics;
+import com.equipment.tracker.service.InventoryStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/equipment/statistics")
+public class InventoryStatisticsController {
+
+    private final InventoryStatisticsService statisticsService;
+
+    public InventoryStatisticsController(InventoryStatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    /**
+     * Получает сводную статистику по инвентарю.
+     * @param months Количество месяцев для распределения окончания срока службы (по умолчанию 12).
+     * @return Итоги по категориям, состояниям и месяцам и статус 200 OK.
+     */
+    @GetMapping
+    public ResponseEntity<InventoryStatistics> getStatistics(@RequestParam(defaultValue = "12") int months) {
+        InventoryStatistics statistics = statisticsService.getStatistics(months);
+        return ResponseEntity.ok(statistics);
+    }
+}
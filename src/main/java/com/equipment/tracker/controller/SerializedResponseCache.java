@@ -0,0 +1,151 @@
+package com.equipment.tracker.controller;
+
+import com.equipment.tracker.datasource.DataSourceRouting;
+import com.equipment.tracker.service.CollectionVersions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Кэш сериализованных ответов списочных эндпоинтов.
+ * Пока версия коллекции не изменилась, повторный запрос получает 304 Not Modified
+ * по If-None-Match или готовые байты без обращения к базе и без сериализации.
+ * Кодировка (JSON, CBOR или Smile) выбирается по заголовку Accept и кэшируется отдельно.
+ */
+@Component
+public class SerializedResponseCache {
+
+    private static final int MAX_ENTRIES = 64;
+
+    private final CollectionVersions versions;
+    // JSON идёт первым: он отдаётся при Accept: */*, без Accept и при неизвестном типе.
+    private final Map<MediaType, ObjectMapper> encodings = new LinkedHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Счётчики версий живут в памяти, поэтому ETag включает метку запуска:
+    // после перезапуска старые ETag клиентов не совпадут с новыми.
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    private record Entry(long version, byte[] body) {
+    }
+
+    public SerializedResponseCache(CollectionVersions versions, ObjectMapper objectMapper,
+                                   ObjectProvider<AbstractJackson2HttpMessageConverter> converters) {
+        this.versions = versions;
+        encodings.put(MediaType.APPLICATION_JSON, objectMapper);
+        converters.orderedStream().forEach(converter -> {
+            for (MediaType mediaType : converter.getSupportedMediaTypes()) {
+                if (!mediaType.isWildcardSubtype()) {
+                    encodings.putIfAbsent(mediaType, converter.getObjectMapper());
+                }
+            }
+        });
+    }
+
+    /**
+     * Формирует ответ со строгим ETag для текущей версии коллекции.
+     * @param request Текущий запрос, из которого берутся If-None-Match и Accept.
+     * @param kind Коллекция, к которой относится ответ.
+     * @param variant Параметры запроса, влияющие на содержимое (например, сортировка).
+     * @param loader Загрузка данных, вызывается только при промахе кэша.
+     * @return Ответ 304 или 200 с телом в согласованной кодировке.
+     */
+    public ResponseEntity<byte[]> respond(WebRequest request, CollectionVersions.Kind kind, String variant, Supplier<?> loader) {
+        MediaType mediaType = negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        long version = versions.current(kind);
+        String key = kind.name() + ":" + mediaType + ":" + variant;
+        String etag = "\"" + kind.name().toLowerCase() + "-" + epoch + "-" + version + "-" + Integer.toHexString(key.hashCode()) + "\"";
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        Entry entry = entries.get(key);
+        if (entry == null || entry.version() != version) {
+            // Ответ хранится до следующего изменения коллекции, поэтому данные читаются с основной базы, а не с реплики.
+            entry = new Entry(version, serialize(encodings.get(mediaType), DataSourceRouting.onPrimary(loader)));
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            entries.put(key, entry);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(entry.body());
+    }
+
+    /**
+     * Выбирает кодировку по заголовку Accept с учётом q-параметров.
+     */
+    private MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType candidate : accepted) {
+            if (candidate.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType mediaType : encodings.keySet()) {
+                if (candidate.includes(mediaType)) {
+                    return mediaType;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] serialize(ObjectMapper objectMapper, Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать ответ", e);
+        }
+    }
+}
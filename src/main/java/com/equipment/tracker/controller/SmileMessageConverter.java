@@ -0,0 +1,18 @@
+package com.equipment.tracker.controller;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ответы в Smile ({@code Accept: application/x-jackson-smile}) — двоичном представлении JSON,
+ * в котором повторяющиеся имена полей передаются ссылками на уже встреченные.
+ */
+@Component
+public class SmileMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    public SmileMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        super(builder.factory(new SmileFactory()).build());
+    }
+}
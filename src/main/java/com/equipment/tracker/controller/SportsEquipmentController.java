@@ -1,11 +1,20 @@
 package com.equipment.tracker.controller;
 
+import com.equipment.tracker.dto.BatchItemResult;
+import com.equipment.tracker.dto.CursorPage;
+import com.equipment.tracker.dto.EquipmentSearchCriteria;
 import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.exception.BadRequestException;
+import com.equipment.tracker.service.CollectionVersions;
 import com.equipment.tracker.service.SportsEquipmentService;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -14,10 +23,14 @@ import java.util.UUID;
 @RequestMapping("/api/equipment")
 public class SportsEquipmentController {
 
+    static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final SportsEquipmentService equipmentService;
+    private final SerializedResponseCache responseCache;
 
-    public SportsEquipmentController(SportsEquipmentService equipmentService) {
+    public SportsEquipmentController(SportsEquipmentService equipmentService, SerializedResponseCache responseCache) {
         this.equipmentService = equipmentService;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -38,15 +51,39 @@ public class SportsEquipmentController {
         return new ResponseEntity<>(createdEquipment, HttpStatus.CREATED);
     }
 
+    /**
+     * Создает оборудование пакетом.
+     * @param items Список оборудования с вложенными category и condition.
+     * @return Результаты по каждому элементу; статус 201 Created, если созданы все элементы,
+     * иначе 207 Multi-Status.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createEquipmentBatch(@RequestBody List<SportsEquipment> items) {
+        List<BatchItemResult> results = equipmentService.createEquipmentBatch(items);
+        boolean allCreated = results.stream().allMatch(r -> r.status() == BatchItemResult.Status.CREATED);
+        return new ResponseEntity<>(results, allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+    }
+
     /**
      * Получает оборудование по его ID.
      * @param id ID оборудования (UUID).
-     * @return Найденное оборудование и статус 200 OK.
+     * @return Найденное оборудование с версией в ETag и статус 200 OK.
      */
     @GetMapping("/{id}")
     public ResponseEntity<SportsEquipment> getEquipmentById(@PathVariable UUID id) {
         SportsEquipment equipment = equipmentService.getEquipmentById(id);
-        return ResponseEntity.ok(equipment);
+        return withVersion(equipment);
+    }
+
+    /**
+     * Получает оборудование по серийному номеру.
+     * @param serialNumber Серийный номер оборудования.
+     * @return Найденное оборудование с версией в ETag и статус 200 OK.
+     */
+    @GetMapping("/serial/{serialNumber}")
+    public ResponseEntity<SportsEquipment> getEquipmentBySerialNumber(@PathVariable String serialNumber) {
+        SportsEquipment equipment = equipmentService.getEquipmentBySerialNumber(serialNumber);
+        return withVersion(equipment);
     }
 
     /**
@@ -54,23 +91,89 @@ public class SportsEquipmentController {
      * Поддерживает сортировку.
      * @param sortBy Поле для сортировки (по умолчанию "serialNumber").
      * @param sortDir Направление сортировки (ASC или DESC, по умолчанию "ASC").
-     * @return Список оборудования и статус 200 OK.
+     * @param fields Поля через запятую, например {@code serialNumber,equipmentName,category};
+     * без параметра возвращаются полные записи.
+     * @return Список оборудования и статус 200 OK
+     * или 304 Not Modified, если список не изменился с версии из If-None-Match.
      */
     @GetMapping
-    public ResponseEntity<List<SportsEquipment>> getAllEquipment(@RequestParam(defaultValue = "serialNumber") String sortBy, @RequestParam(defaultValue = "ASC") String sortDir) {
+    public ResponseEntity<byte[]> getAllEquipment(@RequestParam(defaultValue = "serialNumber") String sortBy, @RequestParam(defaultValue = "ASC") String sortDir,
+                                                  @RequestParam(required = false) String fields, WebRequest request) {
+        if (fields != null) {
+            return responseCache.respond(request, CollectionVersions.Kind.EQUIPMENT, sortBy + ":" + sortDir + ":" + fields,
+                    () -> equipmentService.getAllEquipmentFields(fields, sortBy, sortDir));
+        }
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
-        List<SportsEquipment> equipmentList = equipmentService.getAllEquipment(sort);
-        return ResponseEntity.ok(equipmentList);
+        return responseCache.respond(request, CollectionVersions.Kind.EQUIPMENT, sort.toString(), () -> equipmentService.getAllEquipment(sort));
+    }
+
+    /**
+     * Получает страницу оборудования с курсорной пагинацией.
+     * Следующая страница запрашивается с курсором из поля next предыдущего ответа.
+     * @param sortBy Поле для сортировки (по умолчанию "serialNumber").
+     * @param sortDir Направление сортировки (ASC или DESC, по умолчанию "ASC").
+     * @param after Курсор, после которого начинается страница (для первой страницы не указывается).
+     * @param limit Размер страницы (по умолчанию 50, не более 500).
+     * @param fields Поля через запятую; без параметра возвращаются полные записи.
+     * @return Страница оборудования и статус 200 OK.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<?>> getEquipmentPage(@RequestParam(defaultValue = "serialNumber") String sortBy, @RequestParam(defaultValue = "ASC") String sortDir,
+                                                          @RequestParam(required = false) String after, @RequestParam(defaultValue = "50") int limit,
+                                                          @RequestParam(required = false) String fields) {
+        CursorPage<?> page = fields != null
+                ? equipmentService.getEquipmentFieldsPage(fields, sortBy, sortDir, after, limit)
+                : equipmentService.getEquipmentPage(sortBy, sortDir, after, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Ищет оборудование по комбинации фильтров с курсорной пагинацией.
+     * @param criteria Фильтры: categoryId, conditionId, minQuantity, maxQuantity,
+     * endOfServiceFrom, endOfServiceTo, lastCheckFrom, lastCheckTo (даты в формате ISO), namePrefix.
+     * @param sortBy Поле для сортировки (по умолчанию "serialNumber").
+     * @param sortDir Направление сортировки (ASC или DESC, по умолчанию "ASC").
+     * @param after Курсор, после которого начинается страница (для первой страницы не указывается).
+     * @param limit Размер страницы (по умолчанию 50, не более 500).
+     * @param fields Поля через запятую; без параметра возвращаются полные записи.
+     * @return Страница найденного оборудования и статус 200 OK.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<?>> searchEquipment(@ModelAttribute EquipmentSearchCriteria criteria,
+                                                         @RequestParam(defaultValue = "serialNumber") String sortBy, @RequestParam(defaultValue = "ASC") String sortDir,
+                                                         @RequestParam(required = false) String after, @RequestParam(defaultValue = "50") int limit,
+                                                         @RequestParam(required = false) String fields) {
+        CursorPage<?> page = fields != null
+                ? equipmentService.searchEquipmentFields(criteria, fields, sortBy, sortDir, after, limit)
+                : equipmentService.searchEquipment(criteria, sortBy, sortDir, after, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Полнотекстовый поиск оборудования по названию и описанию.
+     * @param q Поисковая строка.
+     * @param after Курсор, после которого начинается страница (для первой страницы не указывается).
+     * @param limit Размер страницы (по умолчанию 20, не более 500).
+     * @return Страница оборудования в порядке убывания релевантности и статус 200 OK.
+     */
+    @GetMapping("/fulltext")
+    public ResponseEntity<CursorPage<SportsEquipment>> fullTextSearch(@RequestParam String q, @RequestParam(required = false) String after,
+                                                                      @RequestParam(defaultValue = "20") int limit) {
+        CursorPage<SportsEquipment> page = equipmentService.fullTextSearch(q, after, limit);
+        return ResponseEntity.ok(page);
     }
 
     /**
      * Обновляет существующее оборудование.
      * @param id ID оборудования.
      * @param updatedEquipment Объект с обновленными данными, включая category и condition.
-     * @return Обновленное оборудование и статус 200 OK.
+     * @param ifMatch ETag версии, от которой сделаны изменения; без заголовка версия не проверяется.
+     * @return Обновленное оборудование с новой версией в ETag и статус 200 OK,
+     * 412 Precondition Failed, если версия устарела, или 409 Conflict при одновременном изменении.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<SportsEquipment> updateEquipment(@PathVariable UUID id, @RequestBody SportsEquipment updatedEquipment) {
+    public ResponseEntity<SportsEquipment> updateEquipment(@PathVariable UUID id, @RequestBody SportsEquipment updatedEquipment,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         Integer newCategoryId = updatedEquipment.getCategory() != null ? updatedEquipment.getCategory().getCategoryId() : null;
         Integer newConditionId = updatedEquipment.getCondition() != null ? updatedEquipment.getCondition().getConditionId() : null;
@@ -79,8 +182,26 @@ public class SportsEquipmentController {
             return ResponseEntity.badRequest().build();
         }
 
-        SportsEquipment equipment = equipmentService.updateEquipment(id, updatedEquipment, newCategoryId, newConditionId);
-        return ResponseEntity.ok(equipment);
+        SportsEquipment equipment = equipmentService.updateEquipment(id, updatedEquipment, newCategoryId, newConditionId,
+                parseVersion(ifMatch));
+        return withVersion(equipment);
+    }
+
+    /**
+     * Частично обновляет оборудование (JSON Merge Patch).
+     * Переданные поля заменяются, null очищает поле, категория и состояние задаются
+     * объектами {@code {"categoryId": ...}} и {@code {"conditionId": ...}}.
+     * @param id ID оборудования.
+     * @param patch Изменяемые поля.
+     * @param ifMatch ETag версии, от которой сделаны изменения; без заголовка версия не проверяется.
+     * @return Обновлённое оборудование с новой версией в ETag и статус 200 OK,
+     * 412 Precondition Failed, если версия устарела, или 409 Conflict при одновременном изменении.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<SportsEquipment> patchEquipment(@PathVariable UUID id, @RequestBody JsonNode patch,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        SportsEquipment equipment = equipmentService.patchEquipment(id, patch, parseVersion(ifMatch));
+        return withVersion(equipment);
     }
 
     /**
@@ -93,4 +214,27 @@ public class SportsEquipmentController {
         equipmentService.deleteEquipment(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    private static ResponseEntity<SportsEquipment> withVersion(SportsEquipment equipment) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (equipment.getVersion() != null) {
+            response.eTag(String.valueOf(equipment.getVersion()));
+        }
+        return response.body(equipment);
+    }
+
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Некорректный заголовок If-Match: " + ifMatch);
+        }
+    }
 }
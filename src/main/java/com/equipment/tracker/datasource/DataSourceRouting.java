@@ -0,0 +1,46 @@
+package com.equipment.tracker.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Признак текущего потока, что чтение должно идти с основной базы, а не с реплики.
+ * Выставляется для запросов клиента, который недавно что-то записал, и для загрузки
+ * данных в кэши, которые хранятся до следующего изменения: закэшированное отставание
+ * реплики держалось бы до следующей записи. Без настроенной реплики признак ни на что не влияет.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    /**
+     * Выполняет действие так, чтобы все транзакции, начатые внутри него, читали основную базу.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        }
+    }
+
+    static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+}
@@ -0,0 +1,39 @@
+package com.equipment.tracker.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Направляет соединения транзакций только для чтения на реплику, а остальные на основную базу.
+ * Признак readOnly выставляется после начала транзакции, поэтому источник должен быть обёрнут
+ * в LazyConnectionDataSourceProxy: тогда физическое соединение берётся при первом запросе,
+ * когда признак уже известен. Выбор делается для каждой транзакции, поэтому соединение
+ * не должно удерживаться на весь запрос: spring.jpa.open-in-view выключен.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+
+    static Target currentTarget() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !DataSourceRouting.isPrimaryRequired()
+                ? Target.REPLICA
+                : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,64 @@
+package com.equipment.tracker.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Чтение собственных записей при отставании реплики. Изменяющий запрос выставляет клиенту
+ * cookie на короткое окно; пока она не истекла, все его чтения идут с основной базы.
+ * Cookie не зависит от экземпляра приложения, поэтому окно работает и за балансировщиком.
+ */
+class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "primary-reads";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final int stickySeconds;
+
+    ReadYourWritesFilter(int stickySeconds) {
+        this.stickySeconds = stickySeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            // Cookie выставляется до обработки: после начала записи тела заголовки уже не изменить.
+            Cookie cookie = new Cookie(COOKIE_NAME, "1");
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge(stickySeconds);
+            response.addCookie(cookie);
+        }
+        if (write || hasCookie(request)) {
+            DataSourceRouting.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DataSourceRouting.clear();
+        }
+    }
+
+    private static boolean hasCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+package com.equipment.tracker.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Два пула соединений: основная база из spring.datasource и реплика из equipment.datasource.replica.
+ * Включается, только если задан equipment.datasource.replica.url; иначе Spring Boot создаёт
+ * единственный пул как обычно. Бин dataSource остаётся единой точкой входа для JPA,
+ * поэтому подсчёт SQL-запросов оборачивает оба пула. Миграции Flyway выполняются на основной базе.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "equipment.datasource.replica.url")
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("equipment.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${equipment.datasource.replica.url}") String url,
+                                              @Value("${equipment.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${equipment.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(@Value("${equipment.datasource.replica.read-your-writes-seconds:5}") int stickySeconds) {
+        return new ReadYourWritesFilter(stickySeconds);
+    }
+}
@@ -0,0 +1,30 @@
+package com.equipment.tracker.dto;
+
+import com.equipment.tracker.entity.SportsEquipment;
+
+import java.util.UUID;
+
+/**
+ * Результат обработки одного элемента пакетного создания.
+ * @param index Позиция элемента в запросе.
+ * @param status Итог обработки элемента.
+ * @param equipmentId ID созданного оборудования (только для CREATED).
+ * @param serialNumber Серийный номер из запроса.
+ * @param error Причина отказа (только для REJECTED).
+ */
+public record BatchItemResult(int index, Status status, UUID equipmentId, String serialNumber, String error) {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    public static BatchItemResult created(int index, SportsEquipment equipment) {
+        return new BatchItemResult(index, Status.CREATED, equipment.getEquipmentId(), equipment.getSerialNumber(), null);
+    }
+
+    public static BatchItemResult rejected(int index, SportsEquipment equipment, String error) {
+        String serialNumber = equipment != null ? equipment.getSerialNumber() : null;
+        return new BatchItemResult(index, Status.REJECTED, null, serialNumber, error);
+    }
+}
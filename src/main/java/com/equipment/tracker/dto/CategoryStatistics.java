@@ -0,0 +1,11 @@
+package com.equipment.tracker.dto;
+
+/**
+ * Итоги по категории.
+ * @param categoryId ID категории.
+ * @param categoryName Название категории.
+ * @param itemCount Количество записей оборудования.
+ * @param totalQuantity Суммарное количество единиц.
+ */
+public record CategoryStatistics(Integer categoryId, String categoryName, Long itemCount, Long totalQuantity) {
+}
@@ -0,0 +1,11 @@
+package com.equipment.tracker.dto;
+
+/**
+ * Итоги по состоянию.
+ * @param conditionId ID состояния.
+ * @param conditionName Название состояния.
+ * @param itemCount Количество записей оборудования.
+ * @param totalQuantity Суммарное количество единиц.
+ */
+public record ConditionStatistics(Integer conditionId, String conditionName, Long itemCount, Long totalQuantity) {
+}
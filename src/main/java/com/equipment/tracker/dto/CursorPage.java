@@ -0,0 +1,11 @@
+package com.equipment.tracker.dto;
+
+import java.util.List;
+
+/**
+ * Страница результатов курсорной (keyset) пагинации.
+ * @param items Элементы страницы.
+ * @param next Непрозрачный курсор следующей страницы или null, если страница последняя.
+ */
+public record CursorPage<T>(List<T> items, String next) {
+}
@@ -0,0 +1,16 @@
+package com.equipment.tracker.dto;
+
+import com.equipment.tracker.entity.SportsEquipment;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Порция изменений оборудования для инкрементальной синхронизации.
+ * @param updated Созданные или изменённые записи в их текущем состоянии.
+ * @param deleted ID удалённых записей.
+ * @param next Токен для следующего запроса. Выдаётся всегда, в том числе для пустой порции.
+ * @param hasMore Есть ли уже доступные изменения после этой порции.
+ */
+public record EquipmentChanges(List<SportsEquipment> updated, List<UUID> deleted, String next, boolean hasMore) {
+}
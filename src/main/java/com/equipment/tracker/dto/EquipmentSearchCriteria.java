@@ -0,0 +1,30 @@
+package com.equipment.tracker.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Фильтры поиска оборудования. Незаданные фильтры не применяются,
+ * заданные объединяются через AND.
+ * @param categoryId ID категории.
+ * @param conditionId ID состояния.
+ * @param minQuantity Минимальное количество (включительно).
+ * @param maxQuantity Максимальное количество (включительно).
+ * @param endOfServiceFrom Начало диапазона даты окончания срока службы (включительно).
+ * @param endOfServiceTo Конец диапазона даты окончания срока службы (включительно).
+ * @param lastCheckFrom Начало диапазона даты последней проверки (включительно).
+ * @param lastCheckTo Конец диапазона даты последней проверки (включительно).
+ * @param namePrefix Начало названия без учёта регистра.
+ */
+public record EquipmentSearchCriteria(
+        Integer categoryId,
+        Integer conditionId,
+        Integer minQuantity,
+        Integer maxQuantity,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endOfServiceFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endOfServiceTo,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate lastCheckFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate lastCheckTo,
+        String namePrefix) {
+}
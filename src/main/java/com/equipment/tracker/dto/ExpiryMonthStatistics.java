@@ -0,0 +1,11 @@
+package com.equipment.tracker.dto;
+
+/**
+ * Оборудование, срок службы которого заканчивается в указанном месяце.
+ * @param year Год.
+ * @param month Месяц (1-12).
+ * @param itemCount Количество записей оборудования.
+ * @param totalQuantity Суммарное количество единиц.
+ */
+public record ExpiryMonthStatistics(Integer year, Integer month, Long itemCount, Long totalQuantity) {
+}
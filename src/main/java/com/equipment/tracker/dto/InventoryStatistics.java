@@ -0,0 +1,14 @@
+package com.equipment.tracker.dto;
+
+import java.util.List;
+
+/**
+ * Сводная статистика по инвентарю для дашбордов.
+ * @param byCategory Итоги по категориям.
+ * @param byCondition Итоги по состояниям.
+ * @param expiringByMonth Окончание срока службы по месяцам.
+ */
+public record InventoryStatistics(List<CategoryStatistics> byCategory,
+                                  List<ConditionStatistics> byCondition,
+                                  List<ExpiryMonthStatistics> expiringByMonth) {
+}
@@ -1,14 +1,20 @@
 package com.equipment.tracker.entity;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 
 @Entity
-@Table(name = "category")
+@JsonPropertyOrder({"categoryId", "categoryName", "description"})
+@Table(name = "category", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_category_name", columnNames = "category_name")
+})
 public class Category {
 
     @Id
@@ -16,6 +22,7 @@ public class Category {
     private Integer categoryId;
 
     @NotBlank(message = "Категория не может быть пустой")
+    @Column(name = "category_name", nullable = false)
     private String categoryName;
 
     private String description;
@@ -1,10 +1,14 @@
 package com.equipment.tracker.entity;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 
 @Entity
-@Table(name = "equipment_condition")
+@JsonPropertyOrder({"conditionId", "conditionName"})
+@Table(name = "equipment_condition", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_equipment_condition_name", columnNames = "condition_name")
+})
 public class EquipmentCondition {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -12,7 +16,7 @@ public class EquipmentCondition {
     private Integer conditionId;
 
     @NotBlank(message = "Состояние не может быть пустым")
-    @Column(name = "condition_name", nullable = false, unique = true)
+    @Column(name = "condition_name", nullable = false)
     private String conditionName;
 
     public EquipmentCondition () {}
@@ -0,0 +1,41 @@
+package com.equipment.tracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * След удалённого оборудования. По нему клиенты синхронизации узнают,
+ * какие записи нужно удалить у себя. Создаётся в той же транзакции, что и удаление.
+ */
+@Entity
+@Table(name = "sports_equipment_tombstone")
+public class EquipmentTombstone {
+
+    @Id
+    @Column(name = "equipment_id", nullable = false, updatable = false)
+    private UUID equipmentId;
+
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    protected EquipmentTombstone() {
+    }
+
+    public EquipmentTombstone(UUID equipmentId, LocalDateTime deletedAt) {
+        this.equipmentId = equipmentId;
+        this.deletedAt = deletedAt;
+    }
+
+    public UUID getEquipmentId() {
+        return equipmentId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
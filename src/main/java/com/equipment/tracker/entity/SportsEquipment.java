@@ -1,28 +1,47 @@
 package com.equipment.tracker.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PositiveOrZero;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Схема таблицы и её индексы задаются миграциями Flyway в {@code db/migration}.
+ * UPDATE содержит только изменённые столбцы, а версия защищает от потерянных обновлений.
+ * Порядок полей в ответах зафиксирован: на него опираются клиенты двоичных кодировок (CBOR, Smile).
+ * ID, версия и отметки времени назначаются сервером и из тела запроса не читаются.
+ */
 @Entity
-@Table(name = "sports_equipment")
-public class SportsEquipment {
+@DynamicUpdate
+@JsonPropertyOrder({"equipmentId", "serialNumber", "equipmentName", "category", "condition", "quantity",
+        "lastCheckDate", "endOfServiceDate", "createdAt", "updatedAt", "description", "version"})
+@Table(name = "sports_equipment", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_sports_equipment_serial_number", columnNames = "serial_number")
+})
+public class SportsEquipment implements Persistable<UUID> {
 
     @Id
     @Column(name = "equipment_id", nullable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private UUID equipmentId;
 
     @ManyToOne
-    @JoinColumn(name = "category_id", nullable = false)
+    @JoinColumn(name = "category_id", nullable = false,
+            foreignKey = @ForeignKey(name = "fk_sports_equipment_category"))
     private Category category;
 
     @NotBlank(message = "Серийный номер не может быть пустым")
-    @Column(name = "serial_number", nullable = false, unique = true)
+    @Column(name = "serial_number", nullable = false)
     private String serialNumber;
 
     @NotBlank(message = "Название не может быть пустым")
@@ -34,7 +53,8 @@ public class SportsEquipment {
     private Integer quantity;
 
     @ManyToOne
-    @JoinColumn(name = "condition_id", nullable = false)
+    @JoinColumn(name = "condition_id", nullable = false,
+            foreignKey = @ForeignKey(name = "fk_sports_equipment_condition"))
     private EquipmentCondition condition;
 
     @Column(name = "last_check_date")
@@ -45,19 +65,61 @@ public class SportsEquipment {
 
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private LocalDateTime createdAt;
 
+    /**
+     * Время последней вставки или изменения записи по часам приложения.
+     * По нему и ID клиенты синхронизации забирают только изменённые записи.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime updatedAt;
+
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    public SportsEquipment() {
-        this.equipmentId = UUID.randomUUID();
-    }
+    /**
+     * Версия для оптимистической блокировки. Передаётся клиенту в ETag
+     * и сверяется с заголовком If-Match.
+     */
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 
     public UUID getEquipmentId() {
         return equipmentId;
     }
 
+    @Override
+    @JsonIgnore
+    public UUID getId() {
+        return equipmentId;
+    }
+
+    /**
+     * Запись без ID ещё не сохранялась: save() вызывает persist без предварительного SELECT,
+     * а вставки объединяются в JDBC-пакеты.
+     */
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return equipmentId == null;
+    }
+
+    /**
+     * ID назначается при первом сохранении, а не в конструкторе: через конструктор
+     * Hibernate и Jackson создают и загруженные, и десериализованные экземпляры.
+     */
+    @PrePersist
+    void assignId() {
+        if (equipmentId == null) {
+            equipmentId = UuidV7.next();
+        }
+    }
+
     public Category getCategory() {
         return category;
     }
@@ -118,6 +180,14 @@ public class SportsEquipment {
         return createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -137,6 +207,7 @@ public class SportsEquipment {
                 ", lastCheckDate=" + lastCheckDate +
                 ", endOfServiceDate=" + endOfServiceDate +
                 ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
                 ", description='" + description + '\'' +
                 '}';
     }
@@ -0,0 +1,48 @@
+package com.equipment.tracker.entity;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Генератор UUID версии 7 (RFC 9562): 48 бит времени в миллисекундах,
+ * 12-битный счётчик внутри миллисекунды и 62 случайных бита.
+ * Ключи, созданные в одной JVM, строго возрастают даже при параллельном создании
+ * и при переводе системных часов назад, поэтому новые записи дописываются
+ * в конец индекса первичного ключа, а не в случайные его страницы.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final long MAX_COUNTER = (1L << COUNTER_BITS) - 1;
+
+    private static long lastTimestamp = -1;
+    private static long counter;
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(nextMostSigBits(), leastSigBits);
+    }
+
+    /**
+     * Под блокировкой только время и счётчик; случайная половина ключа генерируется вне её.
+     */
+    private static synchronized long nextMostSigBits() {
+        long now = System.currentTimeMillis();
+        if (now > lastTimestamp) {
+            lastTimestamp = now;
+            // Случайное начало в младшей половине диапазона оставляет запас под счётчик.
+            counter = RANDOM.nextInt(1 << (COUNTER_BITS - 1));
+        } else if (counter < MAX_COUNTER) {
+            counter++;
+        } else {
+            // Счётчик исчерпан: занимаем следующую миллисекунду.
+            lastTimestamp++;
+            counter = 0;
+        }
+        return (lastTimestamp << 16) | (0x7L << 12) | counter;
+    }
+}
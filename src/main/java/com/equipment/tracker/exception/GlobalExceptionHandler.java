@@ -1,6 +1,7 @@
 package com.equipment.tracker.exception;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,12 +11,25 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Сообщения для нарушений уникальности, которые раньше проверялись запросом перед записью.
+     */
+    private static final Map<String, String> UNIQUE_CONSTRAINT_MESSAGES = Map.of(
+            "uk_sports_equipment_serial_number", "Серийный номер должен быть уникальным",
+            "uk_category_name", "Категория должна быть уникальной",
+            "uk_equipment_condition_name", "Состояние должно быть уникальным");
+
+    private static final Map<String, String> FOREIGN_KEY_MESSAGES = Map.of(
+            "fk_sports_equipment_category", "Категория не найдена или используется оборудованием",
+            "fk_sports_equipment_condition", "Состояние не найдено или используется оборудованием");
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Object> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, Object> body = new HashMap<>();
@@ -53,16 +67,83 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        body.put("error", "Версия не совпадает");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(GoneException.class)
+    public ResponseEntity<Object> handleGoneException(GoneException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.GONE.value());
+        body.put("error", "Требуется полная синхронизация");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.GONE);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Конфликт изменений");
+        body.put("message", "Запись изменена другим пользователем, загрузите актуальную версию и повторите запрос");
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<Object> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        String constraint = findConstraint(ex);
+        if (constraint != null && UNIQUE_CONSTRAINT_MESSAGES.containsKey(constraint)) {
+            return handleBadRequestException(new BadRequestException(UNIQUE_CONSTRAINT_MESSAGES.get(constraint)));
+        }
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now());
         body.put("status", HttpStatus.CONFLICT.value());
         body.put("error", "Нарушение целостности данных");
-        body.put("message", ex.getRootCause() != null ? ex.getRootCause().getMessage() : ex.getMessage());
+        if (constraint != null && FOREIGN_KEY_MESSAGES.containsKey(constraint)) {
+            body.put("message", FOREIGN_KEY_MESSAGES.get(constraint));
+        } else {
+            body.put("message", ex.getRootCause() != null ? ex.getRootCause().getMessage() : ex.getMessage());
+        }
         return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Ищет имя известного ограничения в цепочке причин. Имя, которое сообщает Hibernate,
+     * зависит от СУБД (H2 добавляет схему и суффикс индекса), поэтому проверяется и текст ошибок драйвера.
+     */
+    private static String findConstraint(Throwable ex) {
+        StringBuilder text = new StringBuilder();
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.hibernate.exception.ConstraintViolationException violation
+                    && violation.getConstraintName() != null) {
+                text.append(violation.getConstraintName()).append(' ');
+            }
+            if (cause.getMessage() != null) {
+                text.append(cause.getMessage()).append(' ');
+            }
+        }
+        String haystack = text.toString().toLowerCase(Locale.ROOT);
+        for (String name : UNIQUE_CONSTRAINT_MESSAGES.keySet()) {
+            if (haystack.contains(name)) {
+                return name;
+            }
+        }
+        for (String name : FOREIGN_KEY_MESSAGES.keySet()) {
+            if (haystack.contains(name)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGeneralException(Exception ex) {
         Map<String, Object> body = new HashMap<>();
@@ -0,0 +1,7 @@
+package com.equipment.tracker.exception;
+
+public class GoneException extends RuntimeException {
+    public GoneException(String message) {
+        super(message);
+    }
+}
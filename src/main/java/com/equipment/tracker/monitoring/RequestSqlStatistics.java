@@ -0,0 +1,43 @@
+package com.equipment.tracker.monitoring;
+
+/**
+ * Количество и суммарное время SQL-запросов, выполненных в рамках текущего HTTP-запроса.
+ * Статистика привязана к потоку: запросы из других потоков (асинхронная выгрузка,
+ * задачи по расписанию) в неё не попадают.
+ */
+public final class RequestSqlStatistics {
+
+    private static final ThreadLocal<RequestSqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statementCount;
+    private long totalNanos;
+
+    private RequestSqlStatistics() {
+    }
+
+    static RequestSqlStatistics start() {
+        RequestSqlStatistics statistics = new RequestSqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static void record(long nanos) {
+        RequestSqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statementCount++;
+            statistics.totalNanos += nanos;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+}
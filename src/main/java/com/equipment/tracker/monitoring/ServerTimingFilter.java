@@ -0,0 +1,119 @@
+package com.equipment.tracker.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Считает SQL-запросы каждого HTTP-запроса и возвращает их в заголовке
+ * {@code Server-Timing: db;dur=<мс>, db-count;desc="<число>"}.
+ * Заголовок выставляется перед первой записью тела ответа, поэтому для потоковых ответов
+ * в нём учтены только запросы, выполненные до начала передачи данных.
+ * Запросы, превысившие порог по количеству или времени SQL, пишутся в журнал.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final int countThreshold;
+    private final long durationThresholdMillis;
+
+    public ServerTimingFilter(@Value("${equipment.sql-monitor.count-threshold:10}") int countThreshold,
+                              @Value("${equipment.sql-monitor.duration-threshold-ms:200}") long durationThresholdMillis) {
+        this.countThreshold = countThreshold;
+        this.durationThresholdMillis = durationThresholdMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSqlStatistics statistics = RequestSqlStatistics.start();
+        ServerTimingResponseWrapper wrapper = new ServerTimingResponseWrapper(response, statistics);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            wrapper.writeHeader();
+            RequestSqlStatistics.stop();
+            if (statistics.getStatementCount() > countThreshold || statistics.getTotalMillis() > durationThresholdMillis) {
+                logger.warn("{} {} выполнил {} SQL-запросов за {} мс", request.getMethod(), request.getRequestURI(),
+                        statistics.getStatementCount(), String.format(Locale.ROOT, "%.1f", statistics.getTotalMillis()));
+            }
+        }
+    }
+
+    static String headerValue(RequestSqlStatistics statistics) {
+        return String.format(Locale.ROOT, "db;dur=%.3f, db-count;desc=\"%d\"",
+                statistics.getTotalMillis(), statistics.getStatementCount());
+    }
+
+    /**
+     * Выставляет заголовок в последний момент, когда ответ ещё можно изменить.
+     */
+    private static class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+        private final RequestSqlStatistics statistics;
+        private boolean headerWritten;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, RequestSqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(SERVER_TIMING, headerValue(statistics));
+            }
+            headerWritten = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.equipment.tracker.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Обёртка над пулом соединений, которая учитывает каждое выполнение JDBC-запроса
+ * в {@link RequestSqlStatistics}. Пакет JDBC ({@code executeBatch}) считается одним запросом,
+ * время чтения результата после выполнения не учитывается.
+ */
+class StatementCountingDataSource extends DelegatingDataSource {
+
+    StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object identity = identityMethod(proxy, method, args);
+                    if (identity != null) {
+                        return identity;
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        return wrapStatement(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private static Object wrapStatement(Statement statement, Class<?> statementType) {
+        return Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{statementType}, (proxy, method, args) -> {
+                    Object identity = identityMethod(proxy, method, args);
+                    if (identity != null) {
+                        return identity;
+                    }
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        RequestSqlStatistics.record(System.nanoTime() - start);
+                    }
+                });
+    }
+
+    /**
+     * Прокси сравниваются по ссылке, чтобы соединение оставалось равным самому себе в коллекциях.
+     */
+    private static Object identityMethod(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> method.getParameterCount() == 1 ? proxy == args[0] : null;
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : null;
+            default -> null;
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.equipment.tracker.monitoring;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Подменяет основной DataSource приложения на {@link StatementCountingDataSource}.
+ */
+@Component
+public class StatementCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof StatementCountingDataSource)) {
+            return new StatementCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
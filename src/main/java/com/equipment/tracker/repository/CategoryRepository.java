@@ -3,9 +3,31 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import com.equipment.tracker.entity.Category;
 import java.util.List;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
     List<Category> findAll(Sort sort);
     Category findByCategoryName(String categoryName);
-    boolean existsByCategoryName(String categoryName);
-}
\ No newline at end of file
+
+    /**
+     * Обновляет категорию одним UPDATE без предварительной загрузки.
+     * Уникальность названия проверяет ограничение uk_category_name.
+     * @return Количество обновлённых строк: 0, если категории нет.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Category c set c.categoryName = :name, c.description = :description where c.categoryId = :id")
+    int updateCategory(@Param("id") Integer id, @Param("name") String name, @Param("description") String description);
+
+    /**
+     * Удаляет категорию одним DELETE без предварительной загрузки.
+     * @return Количество удалённых строк: 0, если категории нет.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Category c where c.categoryId = :id")
+    int deleteByCategoryId(@Param("id") Integer id);
+}
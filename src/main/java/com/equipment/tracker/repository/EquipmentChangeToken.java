@@ -0,0 +1,68 @@
+package com.equipment.tracker.repository;
+
+import com.equipment.tracker.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Позиция клиента в потоке изменений оборудования: время и ID последнего выданного изменения.
+ * Изменения и удаления упорядочены по паре (время, ID), поэтому одна позиция подходит для обеих таблиц.
+ * Клиенту передаётся в виде непрозрачной строки Base64.
+ * @param timestamp Время последнего выданного изменения.
+ * @param equipmentId ID последнего выданного изменения.
+ * @param initial Признак первичной загрузки: клиент ещё не дочитал поток до конца
+ *                и пока не хранит записей, удаления которых могли быть уже забыты.
+ */
+public record EquipmentChangeToken(LocalDateTime timestamp, UUID equipmentId, boolean initial) {
+
+    /** Начало потока для клиента без локальных данных. */
+    public static final EquipmentChangeToken START = new EquipmentChangeToken(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0, 0), true);
+
+    /** Наибольший ID в порядке сравнения UUID в базе: позиция после всех изменений с тем же временем. */
+    public static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + equipmentId + SEPARATOR + (initial ? "I" : "D");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбирает токен, полученный от клиента.
+     * @param token Строка токена или null для начала потока.
+     * @return Позиция, после которой нужно выдать изменения.
+     */
+    public static EquipmentChangeToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3 || !(parts[2].equals("I") || parts[2].equals("D"))) {
+                throw new BadRequestException("Некорректный токен синхронизации");
+            }
+            return new EquipmentChangeToken(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]), parts[2].equals("I"));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Некорректный токен синхронизации");
+        }
+    }
+
+    /**
+     * Сравнивает позиции так же, как индекс в базе: по времени, затем по ID
+     * как по беззнаковому 128-битному числу (UUID.compareTo сравнивает половины со знаком).
+     */
+    public static int compare(LocalDateTime leftTimestamp, UUID leftId, LocalDateTime rightTimestamp, UUID rightId) {
+        int result = leftTimestamp.compareTo(rightTimestamp);
+        if (result != 0) {
+            return result;
+        }
+        result = Long.compareUnsigned(leftId.getMostSignificantBits(), rightId.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(leftId.getLeastSignificantBits(), rightId.getLeastSignificantBits());
+    }
+}
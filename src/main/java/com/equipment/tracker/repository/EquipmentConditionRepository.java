@@ -3,9 +3,31 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import com.equipment.tracker.entity.EquipmentCondition;
 import java.util.List;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface EquipmentConditionRepository extends JpaRepository<EquipmentCondition, Integer> {
     List<EquipmentCondition> findAll(Sort sort);
     EquipmentCondition findByConditionName(String conditionName);
-    boolean existsByConditionName(String conditionName);
+
+    /**
+     * Переименовывает состояние одним UPDATE без предварительной загрузки.
+     * Уникальность названия проверяет ограничение uk_equipment_condition_name.
+     * @return Количество обновлённых строк: 0, если состояния нет.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update EquipmentCondition c set c.conditionName = :name where c.conditionId = :id")
+    int updateConditionName(@Param("id") Integer id, @Param("name") String name);
+
+    /**
+     * Удаляет состояние одним DELETE без предварительной загрузки.
+     * @return Количество удалённых строк: 0, если состояния нет.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from EquipmentCondition c where c.conditionId = :id")
+    int deleteByConditionId(@Param("id") Integer id);
 }
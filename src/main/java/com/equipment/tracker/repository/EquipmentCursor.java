@@ -0,0 +1,50 @@
+package com.equipment.tracker.repository;
+
+import com.equipment.tracker.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Позиция курсорной пагинации: значение ключа сортировки и equipment_id последней
+ * выданной записи. Клиенту передаётся в виде непрозрачной строки Base64.
+ * @param sortKey Ключ сортировки, для которого выдан курсор.
+ * @param direction Направление сортировки, для которого выдан курсор.
+ * @param value Значение ключа сортировки последней записи.
+ * @param equipmentId ID последней записи.
+ */
+public record EquipmentCursor(EquipmentSortKey sortKey, Sort.Direction direction, Comparable<?> value, UUID equipmentId) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR + direction.name() + SEPARATOR + equipmentId + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбирает курсор и проверяет, что он выдан для той же сортировки.
+     * @param token Строка курсора, полученная от клиента.
+     * @param sortKey Текущий ключ сортировки.
+     * @param direction Текущее направление сортировки.
+     * @return Позиция, после которой нужно продолжить выборку.
+     */
+    public static EquipmentCursor decode(String token, EquipmentSortKey sortKey, Sort.Direction direction) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new BadRequestException("Некорректный курсор");
+            }
+            if (!sortKey.name().equals(parts[0]) || !direction.name().equals(parts[1])) {
+                throw new BadRequestException("Курсор выдан для другой сортировки");
+            }
+            return new EquipmentCursor(sortKey, direction, sortKey.parse(parts[3]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Некорректный курсор");
+        }
+    }
+}
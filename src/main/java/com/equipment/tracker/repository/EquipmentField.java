@@ -0,0 +1,79 @@
+package com.equipment.tracker.repository;
+
+import com.equipment.tracker.exception.BadRequestException;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Поля оборудования, которые можно запросить параметром {@code fields}.
+ * Каждое поле читается отдельными столбцами, поэтому в SELECT попадают только запрошенные.
+ * Категория и состояние отдаются вложенными объектами с ID и названием, без описаний.
+ */
+public enum EquipmentField {
+    EQUIPMENT_ID("equipmentId", "equipmentId"),
+    SERIAL_NUMBER("serialNumber", "serialNumber"),
+    EQUIPMENT_NAME("equipmentName", "equipmentName"),
+    CATEGORY("category", "category.categoryId", "category.categoryName"),
+    CONDITION("condition", "condition.conditionId", "condition.conditionName"),
+    QUANTITY("quantity", "quantity"),
+    LAST_CHECK_DATE("lastCheckDate", "lastCheckDate"),
+    END_OF_SERVICE_DATE("endOfServiceDate", "endOfServiceDate"),
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt"),
+    DESCRIPTION("description", "description"),
+    VERSION("version", "version");
+
+    private final String property;
+    private final List<String> attributes;
+
+    EquipmentField(String property, String... attributes) {
+        this.property = property;
+        this.attributes = List.of(attributes);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Пути атрибутов сущности, из которых собирается поле. Путь с точкой
+     * читается через соединение со связанной таблицей.
+     */
+    public List<String> getAttributes() {
+        return attributes;
+    }
+
+    public boolean isNested() {
+        return attributes.size() > 1 || !attributes.get(0).equals(property);
+    }
+
+    public static EquipmentField fromProperty(String property) {
+        for (EquipmentField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Поле " + property + " не поддерживается");
+    }
+
+    /**
+     * Разбирает список полей через запятую. ID оборудования включается всегда:
+     * без него клиент не сможет открыть или удалить запись.
+     * @param fields Значение параметра fields.
+     * @return Поля в порядке объявления.
+     */
+    public static Set<EquipmentField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            throw new BadRequestException("Список полей не может быть пустым");
+        }
+        Set<EquipmentField> result = EnumSet.of(EQUIPMENT_ID);
+        for (String property : fields.split(",")) {
+            if (!property.isBlank()) {
+                result.add(fromProperty(property.trim()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.equipment.tracker.repository;
+
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.exception.BadRequestException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Поля, по которым допускается курсорная пагинация оборудования.
+ * Все поля обязательные (NOT NULL), поэтому условие поиска по ключу сортировки
+ * и equipment_id однозначно задаёт позицию в индексе.
+ */
+public enum EquipmentSortKey {
+    SERIAL_NUMBER("serialNumber", SportsEquipment::getSerialNumber, value -> value),
+    EQUIPMENT_NAME("equipmentName", SportsEquipment::getEquipmentName, value -> value),
+    QUANTITY("quantity", SportsEquipment::getQuantity, Integer::valueOf),
+    END_OF_SERVICE_DATE("endOfServiceDate", SportsEquipment::getEndOfServiceDate, LocalDate::parse),
+    CREATED_AT("createdAt", SportsEquipment::getCreatedAt, LocalDateTime::parse);
+
+    private final String property;
+    private final Function<SportsEquipment, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    EquipmentSortKey(String property, Function<SportsEquipment, Comparable<?>> extractor, Function<String, Comparable<?>> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Comparable<?> extract(SportsEquipment equipment) {
+        return extractor.apply(equipment);
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static EquipmentSortKey fromProperty(String property) {
+        for (EquipmentSortKey key : values()) {
+            if (key.property.equals(property)) {
+                return key;
+            }
+        }
+        throw new BadRequestException("Сортировка по полю " + property + " не поддерживается");
+    }
+}
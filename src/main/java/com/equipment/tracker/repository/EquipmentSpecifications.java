@@ -0,0 +1,70 @@
+package com.equipment.tracker.repository;
+
+import com.equipment.tracker.dto.EquipmentSearchCriteria;
+import com.equipment.tracker.entity.SportsEquipment;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Условия поиска оборудования. Каждое условие опирается на индексированный столбец.
+ */
+public final class EquipmentSpecifications {
+
+    private EquipmentSpecifications() {
+    }
+
+    /**
+     * Собирает условие из заданных фильтров.
+     * @param criteria Фильтры поиска.
+     * @return Условие, объединяющее все заданные фильтры через AND.
+     */
+    public static Specification<SportsEquipment> matching(EquipmentSearchCriteria criteria) {
+        List<Specification<SportsEquipment>> specs = new ArrayList<>();
+        if (criteria.categoryId() != null) {
+            specs.add(hasCategory(criteria.categoryId()));
+        }
+        if (criteria.conditionId() != null) {
+            specs.add(hasCondition(criteria.conditionId()));
+        }
+        if (criteria.minQuantity() != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("quantity"), criteria.minQuantity()));
+        }
+        if (criteria.maxQuantity() != null) {
+            specs.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("quantity"), criteria.maxQuantity()));
+        }
+        addDateRange(specs, "endOfServiceDate", criteria.endOfServiceFrom(), criteria.endOfServiceTo());
+        addDateRange(specs, "lastCheckDate", criteria.lastCheckFrom(), criteria.lastCheckTo());
+        if (criteria.namePrefix() != null && !criteria.namePrefix().isBlank()) {
+            specs.add(nameStartsWith(criteria.namePrefix()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<SportsEquipment> hasCategory(Integer categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("categoryId"), categoryId);
+    }
+
+    public static Specification<SportsEquipment> hasCondition(Integer conditionId) {
+        return (root, query, cb) -> cb.equal(root.get("condition").get("conditionId"), conditionId);
+    }
+
+    public static Specification<SportsEquipment> nameStartsWith(String prefix) {
+        String pattern = prefix.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("equipmentName")), pattern, '\\');
+    }
+
+    private static void addDateRange(List<Specification<SportsEquipment>> specs, String property, LocalDate from, LocalDate to) {
+        if (from != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get(property), from));
+        }
+        if (to != null) {
+            specs.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get(property), to));
+        }
+    }
+}
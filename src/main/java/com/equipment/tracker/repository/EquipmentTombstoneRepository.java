@@ -0,0 +1,41 @@
+package com.equipment.tracker.repository;
+import com.equipment.tracker.entity.EquipmentTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface EquipmentTombstoneRepository extends JpaRepository<EquipmentTombstone, UUID> {
+
+    /**
+     * Записывает след удаления одним INSERT без проверки существования, которую сделал бы save().
+     * ID оборудования не переиспользуются, поэтому след для одного ID создаётся не больше одного раза.
+     */
+    @Transactional
+    @Modifying
+    @Query("insert into EquipmentTombstone (equipmentId, deletedAt) values (:id, :deletedAt)")
+    int insert(@Param("id") UUID id, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Следы удалений строго после позиции (since, afterId) и не позже until
+     * в порядке индекса idx_sports_equipment_tombstone_deleted_at_id.
+     */
+    @Query("""
+            select t from EquipmentTombstone t
+            where t.deletedAt >= :since and (t.deletedAt > :since or t.equipmentId > :afterId) and t.deletedAt <= :until
+            order by t.deletedAt, t.equipmentId
+            """)
+    List<EquipmentTombstone> findDeletedAfter(@Param("since") LocalDateTime since, @Param("afterId") UUID afterId,
+                                              @Param("until") LocalDateTime until, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from EquipmentTombstone t where t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,53 @@
+package com.equipment.tracker.repository;
+
+import com.equipment.tracker.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Позиция в результатах полнотекстового поиска: релевантность и equipment_id последней
+ * выданной записи. Результаты упорядочены по убыванию релевантности, затем по ID,
+ * поэтому следующая страница начинается сразу за этой парой, без пропуска строк через OFFSET.
+ * Клиенту передаётся в виде непрозрачной строки Base64.
+ * @param rank Релевантность последней записи (ts_rank_cd, тип real).
+ * @param equipmentId ID последней записи.
+ */
+public record FullTextCursor(float rank, UUID equipmentId) {
+
+    /** Позиция перед первой записью: релевантность любой найденной записи конечна. */
+    public static final FullTextCursor START = new FullTextCursor(Float.POSITIVE_INFINITY, new UUID(0, 0));
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = rank + SEPARATOR + equipmentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбирает курсор, полученный от клиента.
+     * @param token Строка курсора или null для первой страницы.
+     * @return Позиция, после которой нужно продолжить выборку.
+     */
+    public static FullTextCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new BadRequestException("Некорректный курсор");
+            }
+            float rank = Float.parseFloat(parts[0]);
+            if (Float.isNaN(rank)) {
+                throw new BadRequestException("Некорректный курсор");
+            }
+            return new FullTextCursor(rank, UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Некорректный курсор");
+        }
+    }
+}
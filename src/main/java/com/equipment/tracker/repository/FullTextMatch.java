@@ -0,0 +1,13 @@
+package com.equipment.tracker.repository;
+
+import java.util.UUID;
+
+/**
+ * Строка результата полнотекстового поиска: ID оборудования и его релевантность.
+ */
+public interface FullTextMatch {
+
+    UUID getEquipmentId();
+
+    float getRank();
+}
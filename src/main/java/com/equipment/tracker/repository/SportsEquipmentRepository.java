@@ -1,14 +1,162 @@
 package com.equipment.tracker.repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import com.equipment.tracker.dto.CategoryStatistics;
+import com.equipment.tracker.dto.ConditionStatistics;
+import com.equipment.tracker.dto.ExpiryMonthStatistics;
 import com.equipment.tracker.entity.SportsEquipment;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 
-public interface SportsEquipmentRepository extends JpaRepository<SportsEquipment, UUID> {
+public interface SportsEquipmentRepository extends JpaRepository<SportsEquipment, UUID>, JpaSpecificationExecutor<SportsEquipment>, SportsEquipmentRepositoryCustom {
+    @Override
+    @EntityGraph(attributePaths = {"category", "condition"})
+    Optional<SportsEquipment> findById(UUID id);
+
+    @Override
+    @EntityGraph(attributePaths = {"category", "condition"})
+    List<SportsEquipment> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"category", "condition"})
+    List<SportsEquipment> findAllById(Iterable<UUID> ids);
+
+    @Override
+    @EntityGraph(attributePaths = {"category", "condition"})
     List<SportsEquipment> findAll(Sort sort);
+
+    @EntityGraph(attributePaths = {"category", "condition"})
     List<SportsEquipment> findByCategory_CategoryId(Integer categoryId);
+
+    @EntityGraph(attributePaths = {"category", "condition"})
     List<SportsEquipment> findByCondition_ConditionId(Integer conditionId);
+
+    @EntityGraph(attributePaths = {"category", "condition"})
     SportsEquipment findBySerialNumber(String serialNumber);
-    boolean existsBySerialNumber(String serialNumber);
+
+    @Query("select e.equipmentId from SportsEquipment e where e.serialNumber = :serialNumber")
+    UUID findEquipmentIdBySerialNumber(@Param("serialNumber") String serialNumber);
+
+    @Query("select e.serialNumber from SportsEquipment e where e.serialNumber in :serialNumbers")
+    List<String> findExistingSerialNumbers(@Param("serialNumbers") Collection<String> serialNumbers);
+
+    /**
+     * Удаляет оборудование одним DELETE без предварительной загрузки.
+     * @return Количество удалённых строк: 0, если оборудования нет.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from SportsEquipment e where e.equipmentId = :id")
+    int deleteByEquipmentId(@Param("id") UUID id);
+
+    /**
+     * Оборудование, изменённое строго после позиции (since, afterId) и не позже until,
+     * в порядке индекса idx_sports_equipment_updated_at_id.
+     */
+    @Query("""
+            select e from SportsEquipment e join fetch e.category join fetch e.condition
+            where e.updatedAt >= :since and (e.updatedAt > :since or e.equipmentId > :afterId) and e.updatedAt <= :until
+            order by e.updatedAt, e.equipmentId
+            """)
+    List<SportsEquipment> findChangedAfter(@Param("since") LocalDateTime since, @Param("afterId") UUID afterId,
+                                           @Param("until") LocalDateTime until, Limit limit);
+
+    @Query("""
+            select new com.equipment.tracker.dto.CategoryStatistics(c.categoryId, c.categoryName, count(e), sum(e.quantity))
+            from SportsEquipment e join e.category c
+            group by c.categoryId, c.categoryName
+            order by c.categoryName
+            """)
+    List<CategoryStatistics> countByCategory();
+
+    @Query("""
+            select new com.equipment.tracker.dto.ConditionStatistics(c.conditionId, c.conditionName, count(e), sum(e.quantity))
+            from SportsEquipment e join e.condition c
+            group by c.conditionId, c.conditionName
+            order by c.conditionName
+            """)
+    List<ConditionStatistics> countByCondition();
+
+    @Query("""
+            select new com.equipment.tracker.dto.ExpiryMonthStatistics(
+                year(e.endOfServiceDate), month(e.endOfServiceDate), count(e), sum(e.quantity))
+            from SportsEquipment e
+            where e.endOfServiceDate >= :from and e.endOfServiceDate < :to
+            group by year(e.endOfServiceDate), month(e.endOfServiceDate)
+            order by year(e.endOfServiceDate), month(e.endOfServiceDate)
+            """)
+    List<ExpiryMonthStatistics> countExpiringByMonth(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Полнотекстовый поиск по названию и описанию (столбец search_vector с GIN-индексом).
+     * Совпадения в названии весят больше, чем в описании.
+     * Страница начинается после позиции (afterRank, afterId) в порядке убывания релевантности и возрастания ID.
+     * @return ID и релевантность найденного оборудования в этом порядке.
+     */
+    @Query(value = """
+            SELECT ranked.equipment_id AS "equipmentId", ranked.rank AS "rank"
+            FROM (SELECT e.equipment_id, ts_rank_cd(e.search_vector, q.query) AS rank
+                  FROM sports_equipment e, websearch_to_tsquery('russian', :query) AS q(query)
+                  WHERE e.search_vector @@ q.query) ranked
+            WHERE ranked.rank < :afterRank OR (ranked.rank = :afterRank AND ranked.equipment_id > :afterId)
+            ORDER BY ranked.rank DESC, ranked.equipment_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FullTextMatch> searchFullText(@Param("query") String query, @Param("afterRank") float afterRank,
+                                       @Param("afterId") UUID afterId, @Param("limit") int limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from SportsEquipment e join fetch e.category join fetch e.condition")
+    Stream<SportsEquipment> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select e from SportsEquipment e join fetch e.category join fetch e.condition
+            where e.endOfServiceDate >= :from and e.endOfServiceDate <= :to
+            order by e.endOfServiceDate, e.equipmentId
+            """)
+    Stream<SportsEquipment> streamByEndOfServiceBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select e from SportsEquipment e join fetch e.category join fetch e.condition
+            where e.lastCheckDate >= :from and e.lastCheckDate <= :to
+            order by e.lastCheckDate, e.equipmentId
+            """)
+    Stream<SportsEquipment> streamByLastCheckBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select e from SportsEquipment e join fetch e.category join fetch e.condition
+            where e.lastCheckDate <= :to
+            order by e.lastCheckDate, e.equipmentId
+            """)
+    Stream<SportsEquipment> streamByLastCheckUpTo(@Param("to") LocalDate to);
 }
@@ -0,0 +1,34 @@
+package com.equipment.tracker.repository;
+
+import com.equipment.tracker.entity.SportsEquipment;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface SportsEquipmentRepositoryCustom {
+
+    /**
+     * Возвращает страницу оборудования, начиная сразу после позиции курсора.
+     * Вместо OFFSET используется условие по ключу сортировки и equipment_id,
+     * поэтому стоимость запроса не зависит от глубины страницы.
+     * @param spec Дополнительные условия отбора или null.
+     * @param sortKey Ключ сортировки.
+     * @param direction Направление сортировки.
+     * @param after Позиция последней выданной записи или null для первой страницы.
+     * @param limit Максимальное количество записей.
+     * @return Записи страницы в порядке сортировки.
+     */
+    List<SportsEquipment> findPage(Specification<SportsEquipment> spec, EquipmentSortKey sortKey, Sort.Direction direction, EquipmentCursor after, int limit);
+
+    /**
+     * То же, что {@link #findPage}, но читает только столбцы запрошенных полей
+     * и не создаёт сущностей: каждая запись возвращается словарём "поле - значение".
+     * @param fields Поля, которые нужно прочитать.
+     * @param limit Максимальное количество записей или 0, если ограничения нет.
+     * @return Записи в порядке сортировки.
+     */
+    List<Map<String, Object>> findFields(Specification<SportsEquipment> spec, Set<EquipmentField> fields, EquipmentSortKey sortKey, Sort.Direction direction, EquipmentCursor after, int limit);
+}
@@ -0,0 +1,144 @@
+package com.equipment.tracker.repository;
+
+import com.equipment.tracker.entity.SportsEquipment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class SportsEquipmentRepositoryImpl implements SportsEquipmentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SportsEquipment> findPage(Specification<SportsEquipment> spec, EquipmentSortKey sortKey, Sort.Direction direction, EquipmentCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SportsEquipment> query = cb.createQuery(SportsEquipment.class);
+        Root<SportsEquipment> root = query.from(SportsEquipment.class);
+        root.fetch("category");
+        root.fetch("condition");
+
+        query.where(predicates(cb, query, root, spec, sortKey, direction, after));
+        query.orderBy(orderBy(cb, root, sortKey, direction));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Specification<SportsEquipment> spec, Set<EquipmentField> fields, EquipmentSortKey sortKey, Sort.Direction direction, EquipmentCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<SportsEquipment> root = query.from(SportsEquipment.class);
+
+        // Связанная таблица присоединяется один раз и только если запрошено её поле.
+        Map<String, Join<SportsEquipment, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>();
+        for (EquipmentField field : fields) {
+            for (String attribute : field.getAttributes()) {
+                int dot = attribute.indexOf('.');
+                if (dot < 0) {
+                    selections.add(root.get(attribute));
+                } else {
+                    Join<SportsEquipment, ?> join = joins.computeIfAbsent(attribute.substring(0, dot), name -> root.join(name));
+                    selections.add(join.get(attribute.substring(dot + 1)));
+                }
+            }
+        }
+        query.multiselect(selections);
+        query.where(predicates(cb, query, root, spec, sortKey, direction, after));
+        query.orderBy(orderBy(cb, root, sortKey, direction));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 1000);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+
+        List<Tuple> tuples = typed.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            rows.add(toRow(tuple, fields));
+        }
+        return rows;
+    }
+
+    private static Map<String, Object> toRow(Tuple tuple, Set<EquipmentField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        int index = 0;
+        for (EquipmentField field : fields) {
+            if (!field.isNested()) {
+                row.put(field.getProperty(), tuple.get(index++));
+                continue;
+            }
+            Map<String, Object> nested = new LinkedHashMap<>();
+            for (String attribute : field.getAttributes()) {
+                nested.put(attribute.substring(attribute.indexOf('.') + 1), tuple.get(index++));
+            }
+            row.put(field.getProperty(), nested);
+        }
+        return row;
+    }
+
+    private Predicate[] predicates(CriteriaBuilder cb, CriteriaQuery<?> query, Root<SportsEquipment> root, Specification<SportsEquipment> spec,
+                                   EquipmentSortKey sortKey, Sort.Direction direction, EquipmentCursor after) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                predicates.add(filter);
+            }
+        }
+        if (after != null) {
+            predicates.add(seek(cb, root.get(sortKey.getProperty()), root.get("equipmentId"), direction.isAscending(), after));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static List<Order> orderBy(CriteriaBuilder cb, Root<SportsEquipment> root, EquipmentSortKey sortKey, Sort.Direction direction) {
+        Path<Comparable<?>> key = root.get(sortKey.getProperty());
+        Path<Comparable<?>> id = root.get("equipmentId");
+        return direction.isAscending()
+                ? List.of(cb.asc(key), cb.asc(id))
+                : List.of(cb.desc(key), cb.desc(id));
+    }
+
+    /**
+     * Строит условие "строго после курсора" в виде
+     * key >= :value AND (key > :value OR equipment_id > :id),
+     * где первое слагаемое позволяет начать сканирование индекса с позиции курсора.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seek(CriteriaBuilder cb, Path key, Path id, boolean ascending, EquipmentCursor after) {
+        Comparable value = after.value();
+        Comparable afterId = after.equipmentId();
+        if (ascending) {
+            return cb.and(
+                    cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value), cb.greaterThan(id, afterId)));
+        }
+        return cb.and(
+                cb.lessThanOrEqualTo(key, value),
+                cb.or(cb.lessThan(key, value), cb.lessThan(id, afterId)));
+    }
+}
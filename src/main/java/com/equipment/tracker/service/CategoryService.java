@@ -4,30 +4,48 @@ import com.equipment.tracker.entity.Category;
 import com.equipment.tracker.exception.BadRequestException;
 import com.equipment.tracker.exception.NotFoundException;
 import com.equipment.tracker.repository.CategoryRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
+@Timed(value = "equipment.service", histogram = true)
+@Counted(value = "equipment.service.errors", recordFailuresOnly = true)
 public class CategoryService {
     private static final Logger logger = LoggerFactory.getLogger(CategoryService.class);
 
     private final CategoryRepository categoryRepository;
+    private final CollectionVersions versions;
+    private final ApplicationEventPublisher events;
+    private final ReferenceDataCache<Category> cache;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, CollectionVersions versions, ApplicationEventPublisher events) {
         this.categoryRepository = categoryRepository;
+        this.versions = versions;
+        this.events = events;
+        Map<String, Comparator<Category>> comparators = Map.of(
+                "categoryId", ReferenceDataCache.nullsLast(Category::getCategoryId),
+                "categoryName", ReferenceDataCache.nullsLast(Category::getCategoryName),
+                "description", ReferenceDataCache.nullsLast(Category::getDescription));
+        this.cache = new ReferenceDataCache<>(categoryRepository::findAll, Category::getCategoryId, comparators);
     }
 
     public Category createCategory(@Valid Category category) {
         validateCategory(category);
-        if (categoryRepository.existsByCategoryName(category.getCategoryName())) {
-            throw new BadRequestException("Категория должна быть уникальной");
-        }
-        Category saved = categoryRepository.save(category);
+        Category saved = categoryRepository.saveAndFlush(category);
+        cache.invalidate();
+        versions.bump(CollectionVersions.Kind.CATEGORIES);
+        events.publishEvent(ChangeEvent.created(CollectionVersions.Kind.CATEGORIES, saved.getCategoryId(), saved));
         logger.info("Создана категория с id {}", saved.getCategoryId());
         return saved;
     }
@@ -36,12 +54,21 @@ public class CategoryService {
         if (id == null) {
             throw new BadRequestException("ID категории не может быть null");
         }
-        return categoryRepository.findById(id)
+        return cache.findById(id)
                 .orElseThrow(() -> new NotFoundException("Не найдена категория с id: " + id));
     }
 
+    /**
+     * Ищет категорию в кэше справочника без обращения к базе.
+     * @param id ID категории.
+     * @return Категория или пустой Optional, если категории нет.
+     */
+    public Optional<Category> findCategoryById(Integer id) {
+        return cache.findById(id);
+    }
+
     public List<Category> getAllCategories(Sort sort) {
-        return categoryRepository.findAll(sort);
+        return cache.findAll(sort);
     }
 
     public Category updateCategory(Integer id, @Valid Category updatedCategory) {
@@ -49,29 +76,27 @@ public class CategoryService {
             throw new BadRequestException("ID категории не может быть null");
         }
         validateCategory(updatedCategory);
-        Category existingCategory = getCategoryById(id);
-
-        if (!existingCategory.getCategoryName().equals(updatedCategory.getCategoryName())) {
-            if (categoryRepository.existsByCategoryName(updatedCategory.getCategoryName())) {
-                throw new BadRequestException("Категория должна быть уникальной");
-            }
+        if (categoryRepository.updateCategory(id, updatedCategory.getCategoryName(), updatedCategory.getDescription()) == 0) {
+            throw new NotFoundException("Не найдена категория с id: " + id);
         }
-
-        existingCategory.setCategoryName(updatedCategory.getCategoryName());
-        existingCategory.setDescription(updatedCategory.getDescription());
-        Category saved = categoryRepository.save(existingCategory);
-        logger.info("Обновлена категория с id {}", saved.getCategoryId());
-        return saved;
+        updatedCategory.setCategoryId(id);
+        cache.invalidate();
+        versions.bump(CollectionVersions.Kind.CATEGORIES, CollectionVersions.Kind.EQUIPMENT);
+        events.publishEvent(ChangeEvent.updated(CollectionVersions.Kind.CATEGORIES, id, updatedCategory));
+        logger.info("Обновлена категория с id {}", id);
+        return updatedCategory;
     }
 
     public void deleteCategory(Integer id) {
         if (id == null) {
             throw new BadRequestException("ID категории не может быть null");
         }
-        if (!categoryRepository.existsById(id)) {
+        if (categoryRepository.deleteByCategoryId(id) == 0) {
             throw new NotFoundException("Не найдена категория с id: " + id);
         }
-        categoryRepository.deleteById(id);
+        cache.invalidate();
+        versions.bump(CollectionVersions.Kind.CATEGORIES);
+        events.publishEvent(ChangeEvent.deleted(CollectionVersions.Kind.CATEGORIES, id));
         logger.info("Удалена категория с id {}", id);
     }
 
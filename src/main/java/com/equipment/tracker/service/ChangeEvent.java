@@ -0,0 +1,39 @@
+package com.equipment.tracker.service;
+
+import java.util.List;
+
+/**
+ * Изменение записи, о котором сервисы сообщают через ApplicationEventPublisher.
+ * Клиентам ленты изменений оно рассылается только после фиксации транзакции.
+ * @param kind Коллекция, к которой относится запись.
+ * @param type Вид изменения.
+ * @param id ID записи или null для пакетной вставки.
+ * @param data Запись после изменения, список созданных записей для пакетной вставки
+ *             или null, если запись удалена.
+ */
+public record ChangeEvent(CollectionVersions.Kind kind, Type type, Object id, Object data) {
+
+    public enum Type {
+        CREATED,
+        /** Пакет записей, созданных одной транзакцией: одно событие вместо события на каждую запись. */
+        BATCH_CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static ChangeEvent created(CollectionVersions.Kind kind, Object id, Object data) {
+        return new ChangeEvent(kind, Type.CREATED, id, data);
+    }
+
+    public static ChangeEvent batchCreated(CollectionVersions.Kind kind, List<?> data) {
+        return new ChangeEvent(kind, Type.BATCH_CREATED, null, data);
+    }
+
+    public static ChangeEvent updated(CollectionVersions.Kind kind, Object id, Object data) {
+        return new ChangeEvent(kind, Type.UPDATED, id, data);
+    }
+
+    public static ChangeEvent deleted(CollectionVersions.Kind kind, Object id) {
+        return new ChangeEvent(kind, Type.DELETED, id, null);
+    }
+}
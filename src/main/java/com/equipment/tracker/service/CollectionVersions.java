@@ -0,0 +1,57 @@
+package com.equipment.tracker.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Счётчики версий коллекций, которые отдаются списками через API.
+ * Версия увеличивается при каждом изменении коллекции и используется для ETag
+ * и для кэша сериализованных ответов. Если изменение выполняется в транзакции,
+ * версия увеличивается только после её фиксации, чтобы параллельный запрос
+ * не закэшировал под новой версией ещё не зафиксированные данные.
+ */
+@Component
+public class CollectionVersions {
+
+    public enum Kind {
+        EQUIPMENT,
+        CATEGORIES,
+        CONDITIONS
+    }
+
+    private final Map<Kind, AtomicLong> versions = new EnumMap<>(Kind.class);
+
+    public CollectionVersions() {
+        for (Kind kind : Kind.values()) {
+            versions.put(kind, new AtomicLong());
+        }
+    }
+
+    public long current(Kind kind) {
+        return versions.get(kind).get();
+    }
+
+    public void bump(Kind... kinds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(kinds);
+                }
+            });
+        } else {
+            increment(kinds);
+        }
+    }
+
+    private void increment(Kind... kinds) {
+        for (Kind kind : kinds) {
+            versions.get(kind).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.equipment.tracker.service;
+
+import com.equipment.tracker.dto.EquipmentChanges;
+import com.equipment.tracker.entity.EquipmentTombstone;
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.exception.BadRequestException;
+import com.equipment.tracker.exception.GoneException;
+import com.equipment.tracker.repository.EquipmentChangeToken;
+import com.equipment.tracker.repository.EquipmentTombstoneRepository;
+import com.equipment.tracker.repository.SportsEquipmentRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Инкрементальная синхронизация оборудования. Изменённые записи и следы удалений читаются
+ * диапазонным сканированием индексов (updated_at, equipment_id) и (deleted_at, equipment_id)
+ * от позиции клиента и сливаются в один поток, упорядоченный по времени и ID.
+ * <p>
+ * Время изменения назначается приложением до фиксации транзакции, поэтому запись может стать видимой
+ * позже записей с большим временем. Изменения моложе окна ожидания (equipment.changes.settle-millis)
+ * не выдаются, пока все транзакции с таким временем не зафиксируются; транзакция, которая
+ * дольше этого окна, может быть пропущена клиентом. Чтение идёт с реплики, если она настроена,
+ * поэтому её отставание тоже должно быть меньше окна ожидания.
+ * <p>
+ * Следы удалений хранятся equipment.changes.tombstone-retention-days дней. Клиенту,
+ * чья позиция старше, отвечает 410 Gone: он должен заново загрузить данные с начала потока.
+ * Переименование категории или состояния не меняет время изменения оборудования: справочники
+ * клиенты синхронизируют отдельно через /api/categories и /api/conditions.
+ */
+@Service
+@Timed(value = "equipment.service", histogram = true)
+@Counted(value = "equipment.service.errors", recordFailuresOnly = true)
+@Transactional(readOnly = true)
+public class EquipmentChangesService {
+    private static final Logger logger = LoggerFactory.getLogger(EquipmentChangesService.class);
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final SportsEquipmentRepository equipmentRepository;
+    private final EquipmentTombstoneRepository tombstoneRepository;
+    private final long settleMillis;
+    private final int retentionDays;
+
+    public EquipmentChangesService(SportsEquipmentRepository equipmentRepository, EquipmentTombstoneRepository tombstoneRepository,
+                                   @Value("${equipment.changes.settle-millis:5000}") long settleMillis,
+                                   @Value("${equipment.changes.tombstone-retention-days:30}") int retentionDays) {
+        this.equipmentRepository = equipmentRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settleMillis = settleMillis;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Возвращает изменения после позиции клиента.
+     * @param since Токен из предыдущего ответа или null для загрузки с начала.
+     * @param limit Максимальное количество изменений в ответе (не более 500).
+     * @return Изменённые записи, ID удалённых записей и токен следующего запроса.
+     */
+    public EquipmentChanges getChanges(String since, int limit) {
+        return getChanges(since, limit, LocalDateTime.now());
+    }
+
+    EquipmentChanges getChanges(String since, int limit, LocalDateTime now) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+        EquipmentChangeToken position = EquipmentChangeToken.decode(since);
+        if (!position.initial() && position.timestamp().isBefore(now.minusDays(retentionDays))) {
+            throw new GoneException("Токен синхронизации старше " + retentionDays
+                    + " дней: удаления за этот период уже не хранятся, загрузите данные заново");
+        }
+
+        LocalDateTime until = now.minusNanos(settleMillis * 1_000_000);
+        if (!position.timestamp().isBefore(until)) {
+            return new EquipmentChanges(List.of(), List.of(), position.encode(), false);
+        }
+
+        Limit fetch = Limit.of(limit + 1);
+        List<SportsEquipment> changed = equipmentRepository.findChangedAfter(position.timestamp(), position.equipmentId(), until, fetch);
+        List<EquipmentTombstone> tombstones = tombstoneRepository.findDeletedAfter(position.timestamp(), position.equipmentId(), until, fetch);
+
+        // Слияние двух упорядоченных списков до limit элементов.
+        List<SportsEquipment> updated = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+        LocalDateTime lastTimestamp = null;
+        UUID lastId = null;
+        int i = 0;
+        int j = 0;
+        while (updated.size() + deleted.size() < limit && (i < changed.size() || j < tombstones.size())) {
+            SportsEquipment equipment = i < changed.size() ? changed.get(i) : null;
+            EquipmentTombstone tombstone = j < tombstones.size() ? tombstones.get(j) : null;
+            if (tombstone == null || (equipment != null && EquipmentChangeToken.compare(equipment.getUpdatedAt(), equipment.getEquipmentId(),
+                    tombstone.getDeletedAt(), tombstone.getEquipmentId()) < 0)) {
+                updated.add(equipment);
+                lastTimestamp = equipment.getUpdatedAt();
+                lastId = equipment.getEquipmentId();
+                i++;
+            } else {
+                deleted.add(tombstone.getEquipmentId());
+                lastTimestamp = tombstone.getDeletedAt();
+                lastId = tombstone.getEquipmentId();
+                j++;
+            }
+        }
+
+        boolean hasMore = changed.size() + tombstones.size() > limit;
+        // Дочитавший поток клиент переходит к границе окна ожидания: так его позиция не стареет,
+        // даже если оборудование давно не менялось.
+        EquipmentChangeToken next = hasMore
+                ? new EquipmentChangeToken(lastTimestamp, lastId, position.initial())
+                : new EquipmentChangeToken(until, EquipmentChangeToken.MAX_ID, false);
+        return new EquipmentChanges(updated, deleted, next.encode(), hasMore);
+    }
+
+    /**
+     * Удаляет следы удалений старше срока хранения.
+     */
+    @Scheduled(cron = "${equipment.changes.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        purgeTombstones(LocalDateTime.now());
+    }
+
+    int purgeTombstones(LocalDateTime now) {
+        int purged = tombstoneRepository.deleteOlderThan(now.minusDays(retentionDays));
+        logger.info("Удалено следов удалённого оборудования: {}", purged);
+        return purged;
+    }
+}
@@ -4,30 +4,47 @@ import com.equipment.tracker.entity.EquipmentCondition;
 import com.equipment.tracker.exception.BadRequestException;
 import com.equipment.tracker.exception.NotFoundException;
 import com.equipment.tracker.repository.EquipmentConditionRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
+@Timed(value = "equipment.service", histogram = true)
+@Counted(value = "equipment.service.errors", recordFailuresOnly = true)
 public class EquipmentConditionService {
     private static final Logger logger = LoggerFactory.getLogger(EquipmentConditionService.class);
 
     private final EquipmentConditionRepository conditionRepository;
+    private final CollectionVersions versions;
+    private final ApplicationEventPublisher events;
+    private final ReferenceDataCache<EquipmentCondition> cache;
 
-    public EquipmentConditionService(EquipmentConditionRepository conditionRepository) {
+    public EquipmentConditionService(EquipmentConditionRepository conditionRepository, CollectionVersions versions, ApplicationEventPublisher events) {
         this.conditionRepository = conditionRepository;
+        this.versions = versions;
+        this.events = events;
+        Map<String, Comparator<EquipmentCondition>> comparators = Map.of(
+                "conditionId", ReferenceDataCache.nullsLast(EquipmentCondition::getConditionId),
+                "conditionName", ReferenceDataCache.nullsLast(EquipmentCondition::getConditionName));
+        this.cache = new ReferenceDataCache<>(conditionRepository::findAll, EquipmentCondition::getConditionId, comparators);
     }
 
     public EquipmentCondition createCondition(@Valid EquipmentCondition condition) {
         validateCondition(condition);
-        if (conditionRepository.existsByConditionName(condition.getConditionName())) {
-            throw new BadRequestException("Состояние должно быть уникальным");
-        }
-        EquipmentCondition saved = conditionRepository.save(condition);
+        EquipmentCondition saved = conditionRepository.saveAndFlush(condition);
+        cache.invalidate();
+        versions.bump(CollectionVersions.Kind.CONDITIONS);
+        events.publishEvent(ChangeEvent.created(CollectionVersions.Kind.CONDITIONS, saved.getConditionId(), saved));
         logger.info("Создано состояние с id {}", saved.getConditionId());
         return saved;
     }
@@ -36,12 +53,21 @@ public class EquipmentConditionService {
         if (id == null) {
             throw new BadRequestException("ID состояния не может быть null");
         }
-        return conditionRepository.findById(id)
+        return cache.findById(id)
                 .orElseThrow(() -> new NotFoundException("Не найдено состояние с id: " + id));
     }
 
+    /**
+     * Ищет состояние в кэше справочника без обращения к базе.
+     * @param id ID состояния.
+     * @return Состояние или пустой Optional, если состояния нет.
+     */
+    public Optional<EquipmentCondition> findConditionById(Integer id) {
+        return cache.findById(id);
+    }
+
     public List<EquipmentCondition> getAllConditions(Sort sort) {
-        return conditionRepository.findAll(sort);
+        return cache.findAll(sort);
     }
 
     public EquipmentCondition updateCondition(Integer id, @Valid EquipmentCondition updatedCondition) {
@@ -49,28 +75,27 @@ public class EquipmentConditionService {
             throw new BadRequestException("ID состояния не может быть null");
         }
         validateCondition(updatedCondition);
-        EquipmentCondition existingCondition = getConditionById(id);
-
-        if (!existingCondition.getConditionName().equals(updatedCondition.getConditionName())) {
-            if (conditionRepository.existsByConditionName(updatedCondition.getConditionName())) {
-                throw new BadRequestException("Состояние должно быть уникальным");
-            }
+        if (conditionRepository.updateConditionName(id, updatedCondition.getConditionName()) == 0) {
+            throw new NotFoundException("Не найдено состояние с id: " + id);
         }
-
-        existingCondition.setConditionName(updatedCondition.getConditionName());
-        EquipmentCondition saved = conditionRepository.save(existingCondition);
-        logger.info("Обновлено состояние с id {}", saved.getConditionId());
-        return saved;
+        updatedCondition.setConditionId(id);
+        cache.invalidate();
+        versions.bump(CollectionVersions.Kind.CONDITIONS, CollectionVersions.Kind.EQUIPMENT);
+        events.publishEvent(ChangeEvent.updated(CollectionVersions.Kind.CONDITIONS, id, updatedCondition));
+        logger.info("Обновлено состояние с id {}", id);
+        return updatedCondition;
     }
 
     public void deleteCondition(Integer id) {
         if (id == null) {
             throw new BadRequestException("ID состояния не может быть null");
         }
-        if (!conditionRepository.existsById(id)) {
+        if (conditionRepository.deleteByConditionId(id) == 0) {
             throw new NotFoundException("Не найдено состояние с id: " + id);
         }
-        conditionRepository.deleteById(id);
+        cache.invalidate();
+        versions.bump(CollectionVersions.Kind.CONDITIONS);
+        events.publishEvent(ChangeEvent.deleted(CollectionVersions.Kind.CONDITIONS, id));
         logger.info("Удалено состояние с id {}", id);
     }
 
@@ -0,0 +1,34 @@
+package com.equipment.tracker.service;
+
+import com.equipment.tracker.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+public enum EquipmentExportFormat {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    EquipmentExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static EquipmentExportFormat fromString(String value) {
+        for (EquipmentExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Неподдерживаемый формат выгрузки: " + value);
+    }
+}
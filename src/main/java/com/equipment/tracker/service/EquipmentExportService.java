@@ -0,0 +1,165 @@
+package com.equipment.tracker.service;
+
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.repository.SportsEquipmentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая выгрузка оборудования.
+ * Строки читаются курсором из базы и сразу пишутся в ответ, после записи каждая
+ * сущность отсоединяется от контекста персистентности, поэтому расход памяти
+ * не зависит от количества записей.
+ */
+@Service
+public class EquipmentExportService {
+    private static final Logger logger = LoggerFactory.getLogger(EquipmentExportService.class);
+
+    private static final String CSV_HEADER = "equipmentId,serialNumber,equipmentName,categoryId,categoryName,"
+            + "conditionId,conditionName,quantity,lastCheckDate,endOfServiceDate,createdAt,description";
+
+    private final SportsEquipmentRepository equipmentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public EquipmentExportService(SportsEquipmentRepository equipmentRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.equipmentRepository = equipmentRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Выгружает всё оборудование в указанном формате.
+     * @param format Формат выгрузки.
+     * @param out Поток ответа.
+     * @return Количество выгруженных записей.
+     */
+    @Transactional(readOnly = true)
+    public long exportEquipment(EquipmentExportFormat format, OutputStream out) throws IOException {
+        long count = write(equipmentRepository.streamAll(), format, out);
+        logger.info("Выгружено оборудования в формате {}: {}", format, count);
+        return count;
+    }
+
+    /**
+     * Выгружает оборудование, срок службы которого заканчивается в ближайшие дни,
+     * в порядке даты окончания срока службы.
+     * @param days Горизонт в днях, начиная с сегодняшнего дня.
+     * @param format Формат выгрузки.
+     * @param out Поток ответа.
+     * @return Количество выгруженных записей.
+     */
+    @Transactional(readOnly = true)
+    public long exportExpiring(int days, EquipmentExportFormat format, OutputStream out) throws IOException {
+        LocalDate today = LocalDate.now();
+        return write(equipmentRepository.streamByEndOfServiceBetween(today, today.plusDays(days)), format, out);
+    }
+
+    /**
+     * Выгружает оборудование, у которого просрочена очередная проверка,
+     * в порядке даты последней проверки.
+     * @param intervalDays Допустимый интервал между проверками в днях.
+     * @param format Формат выгрузки.
+     * @param out Поток ответа.
+     * @return Количество выгруженных записей.
+     */
+    @Transactional(readOnly = true)
+    public long exportCheckOverdue(int intervalDays, EquipmentExportFormat format, OutputStream out) throws IOException {
+        LocalDate checkedUpTo = LocalDate.now().minusDays(intervalDays);
+        return write(equipmentRepository.streamByLastCheckUpTo(checkedUpTo), format, out);
+    }
+
+    private long write(Stream<SportsEquipment> source, EquipmentExportFormat format, OutputStream out) throws IOException {
+        try (Stream<SportsEquipment> equipment = source) {
+            return switch (format) {
+                case NDJSON -> writeNdjson(equipment, out);
+                case CSV -> writeCsv(equipment, out);
+            };
+        }
+    }
+
+    private long writeNdjson(Stream<SportsEquipment> equipment, OutputStream out) throws IOException {
+        long count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Iterator<SportsEquipment> iterator = equipment.iterator();
+        while (iterator.hasNext()) {
+            SportsEquipment item = iterator.next();
+            objectMapper.writeValue(generator, item);
+            generator.writeRaw('\n');
+            entityManager.detach(item);
+            count++;
+        }
+        generator.flush();
+        return count;
+    }
+
+    private long writeCsv(Stream<SportsEquipment> equipment, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        Iterator<SportsEquipment> iterator = equipment.iterator();
+        while (iterator.hasNext()) {
+            SportsEquipment item = iterator.next();
+            writeCsvRow(writer, item);
+            entityManager.detach(item);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, SportsEquipment item) throws IOException {
+        writer.write(csv(item.getEquipmentId()));
+        writer.write(',');
+        writer.write(csv(item.getSerialNumber()));
+        writer.write(',');
+        writer.write(csv(item.getEquipmentName()));
+        writer.write(',');
+        writer.write(csv(item.getCategory() != null ? item.getCategory().getCategoryId() : null));
+        writer.write(',');
+        writer.write(csv(item.getCategory() != null ? item.getCategory().getCategoryName() : null));
+        writer.write(',');
+        writer.write(csv(item.getCondition() != null ? item.getCondition().getConditionId() : null));
+        writer.write(',');
+        writer.write(csv(item.getCondition() != null ? item.getCondition().getConditionName() : null));
+        writer.write(',');
+        writer.write(csv(item.getQuantity()));
+        writer.write(',');
+        writer.write(csv(item.getLastCheckDate()));
+        writer.write(',');
+        writer.write(csv(item.getEndOfServiceDate()));
+        writer.write(',');
+        writer.write(csv(item.getCreatedAt()));
+        writer.write(',');
+        writer.write(csv(item.getDescription()));
+        writer.write('\n');
+    }
+
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,98 @@
+package com.equipment.tracker.service;
+
+import com.equipment.tracker.datasource.DataSourceRouting;
+import com.equipment.tracker.entity.SportsEquipment;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Кэш часто запрашиваемого оборудования по ID и по серийному номеру.
+ * Размер и время жизни записей ограничены (equipment.lookup-cache.max-size, equipment.lookup-cache.ttl-seconds),
+ * статистика попаданий публикуется метриками cache.gets и cache.evictions с тегом cache.
+ * Изменённое или удалённое оборудование вытесняется после фиксации транзакции, а переименование
+ * категории или состояния очищает кэш целиком. Загрузка с ключом, который в этот момент вытесняется,
+ * завершается до вытеснения, поэтому устаревшая запись в кэше не остаётся.
+ * Серийный номер кэшируется только как ссылка на ID, а сама запись берётся из кэша по ID
+ * и сверяется с номером: при смене номера или удалении ссылка перезагружается при чтении.
+ * Закэшированные сущности общие для всех запросов и не должны изменяться.
+ */
+@Component
+public class EquipmentLookupCache {
+
+    private final Cache<UUID, SportsEquipment> byId;
+    private final Cache<String, UUID> idBySerialNumber;
+
+    public EquipmentLookupCache(MeterRegistry registry,
+                                @Value("${equipment.lookup-cache.max-size:10000}") long maxSize,
+                                @Value("${equipment.lookup-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.idBySerialNumber = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, byId, "equipment.by-id");
+        CaffeineCacheMetrics.monitor(registry, idBySerialNumber, "equipment.by-serial-number");
+    }
+
+    /**
+     * Возвращает оборудование из кэша или загружает его. Отсутствующее оборудование не кэшируется.
+     * Загрузка идёт с основной базы, чтобы после вытеснения в кэш не попала строка с отстающей реплики.
+     * @param loader Загрузка по ID; null, если оборудования нет.
+     */
+    public SportsEquipment getById(UUID id, Function<UUID, SportsEquipment> loader) {
+        return byId.get(id, key -> DataSourceRouting.onPrimary(() -> loader.apply(key)));
+    }
+
+    /**
+     * Возвращает оборудование по серийному номеру. Если закэшированный ID указывает на запись
+     * с другим номером или на удалённую запись, ID загружается заново.
+     * @param idLoader Поиск ID по серийному номеру; null, если оборудования нет.
+     * @param loader Загрузка по ID; null, если оборудования нет.
+     */
+    public SportsEquipment getBySerialNumber(String serialNumber, Function<String, UUID> idLoader,
+                                             Function<UUID, SportsEquipment> loader) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            UUID id = idBySerialNumber.get(serialNumber, key -> DataSourceRouting.onPrimary(() -> idLoader.apply(key)));
+            if (id == null) {
+                return null;
+            }
+            SportsEquipment equipment = getById(id, loader);
+            if (equipment != null && serialNumber.equals(equipment.getSerialNumber())) {
+                return equipment;
+            }
+            idBySerialNumber.asMap().remove(serialNumber, id);
+        }
+        // Номер дважды подряд сменил владельца за время поиска: считаем, что оборудования с ним нет.
+        return null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        switch (event.kind()) {
+            case EQUIPMENT -> {
+                if (event.type() == ChangeEvent.Type.UPDATED || event.type() == ChangeEvent.Type.DELETED) {
+                    byId.invalidate((UUID) event.id());
+                }
+            }
+            case CATEGORIES, CONDITIONS -> {
+                if (event.type() == ChangeEvent.Type.UPDATED) {
+                    byId.invalidateAll();
+                }
+            }
+        }
+    }
+}
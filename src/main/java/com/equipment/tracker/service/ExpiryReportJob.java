@@ -0,0 +1,111 @@
+package com.equipment.tracker.service;
+
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.repository.SportsEquipmentRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Ежедневный отчёт для контроля безопасности: оборудование, срок службы которого
+ * заканчивается в пределах горизонта, и оборудование с просроченной проверкой.
+ * Первый запуск после старта приложения охватывает всё окно целиком, последующие —
+ * только даты, вошедшие в окно с момента предыдущего запуска, поэтому каждый запуск
+ * выполняет диапазонное сканирование индекса за один-два дня вместо полного перебора.
+ * Записи, даты которых изменили задним числом внутри уже обработанного окна,
+ * попадут в отчёт только после перезапуска приложения или через эндпоинты /api/equipment/expiry.
+ * В журнал на уровне WARN пишется одна сводка с количеством записей: первый запуск после старта
+ * находит всё окно заново, и построчный вывод заполнял бы журнал после каждого перезапуска.
+ * Сами записи выводятся на уровне DEBUG, список целиком отдают эндпоинты /api/equipment/expiry/*.
+ */
+@Component
+public class ExpiryReportJob {
+    private static final Logger logger = LoggerFactory.getLogger(ExpiryReportJob.class);
+
+    private final SportsEquipmentRepository equipmentRepository;
+    private final EntityManager entityManager;
+    private final int horizonDays;
+    private final int checkIntervalDays;
+
+    private LocalDate lastRunDate;
+
+    /**
+     * Результат одного запуска отчёта.
+     * @param expiring Количество записей с заканчивающимся сроком службы.
+     * @param checkOverdue Количество записей с просроченной проверкой.
+     */
+    public record Result(long expiring, long checkOverdue) {
+    }
+
+    public ExpiryReportJob(SportsEquipmentRepository equipmentRepository, EntityManager entityManager,
+                           @Value("${equipment.expiry-report.horizon-days:30}") int horizonDays,
+                           @Value("${equipment.expiry-report.check-interval-days:365}") int checkIntervalDays) {
+        this.equipmentRepository = equipmentRepository;
+        this.entityManager = entityManager;
+        this.horizonDays = horizonDays;
+        this.checkIntervalDays = checkIntervalDays;
+    }
+
+    @Scheduled(cron = "${equipment.expiry-report.cron:0 0 6 * * *}")
+    @Transactional(readOnly = true)
+    public void run() {
+        runFor(LocalDate.now());
+    }
+
+    synchronized Result runFor(LocalDate today) {
+        if (lastRunDate != null && !today.isAfter(lastRunDate)) {
+            return new Result(0, 0);
+        }
+
+        // Срок службы: окно [today, today + horizon], при повторном запуске — только новые дни в его конце.
+        LocalDate expiryTo = today.plusDays(horizonDays);
+        LocalDate expiryFrom = lastRunDate == null ? today : lastRunDate.plusDays(horizonDays + 1L);
+        long expiring = report(equipmentRepository.streamByEndOfServiceBetween(expiryFrom, expiryTo),
+                "Заканчивается срок службы {} (серийный номер {}, название {})", true);
+
+        // Проверка просрочена, если lastCheckDate <= today - interval; при повторном запуске
+        // берутся только даты, ставшие просроченными после предыдущего запуска.
+        LocalDate overdueTo = today.minusDays(checkIntervalDays);
+        Stream<SportsEquipment> overdue = lastRunDate == null
+                ? equipmentRepository.streamByLastCheckUpTo(overdueTo)
+                : equipmentRepository.streamByLastCheckBetween(lastRunDate.minusDays(checkIntervalDays - 1L), overdueTo);
+        long checkOverdue = report(overdue,
+                "Просрочена проверка от {} (серийный номер {}, название {})", false);
+
+        lastRunDate = today;
+        if (expiring > 0 || checkOverdue > 0) {
+            logger.warn("Отчёт о сроках службы за {}: заканчивается срок службы — {}, просрочена проверка — {}; "
+                    + "список: /api/equipment/expiry/end-of-service, /api/equipment/expiry/overdue-checks",
+                    today, expiring, checkOverdue);
+        } else {
+            logger.info("Отчёт о сроках службы за {}: заканчивается срок службы — 0, просрочена проверка — 0", today);
+        }
+        return new Result(expiring, checkOverdue);
+    }
+
+    private long report(Stream<SportsEquipment> source, String message, boolean byEndOfService) {
+        boolean debug = logger.isDebugEnabled();
+        long count = 0;
+        try (Stream<SportsEquipment> equipment = source) {
+            Iterator<SportsEquipment> iterator = equipment.iterator();
+            while (iterator.hasNext()) {
+                SportsEquipment item = iterator.next();
+                if (debug) {
+                    LocalDate date = byEndOfService ? item.getEndOfServiceDate() : item.getLastCheckDate();
+                    logger.debug(message, date, item.getSerialNumber(), item.getEquipmentName());
+                }
+                entityManager.detach(item);
+                count++;
+            }
+        }
+        return count;
+    }
+}
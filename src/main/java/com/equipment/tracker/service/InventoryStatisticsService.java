@@ -0,0 +1,61 @@
+package com.equipment.tracker.service;
+
+import com.equipment.tracker.datasource.DataSourceRouting;
+import com.equipment.tracker.dto.InventoryStatistics;
+import com.equipment.tracker.exception.BadRequestException;
+import com.equipment.tracker.repository.SportsEquipmentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Сводная статистика по инвентарю. Агрегаты считаются в базе через GROUP BY,
+ * результат кэшируется до следующего изменения оборудования.
+ */
+@Service
+public class InventoryStatisticsService {
+
+    private static final int MAX_MONTHS = 120;
+
+    private final SportsEquipmentRepository equipmentRepository;
+    private final CollectionVersions versions;
+    private final Map<Integer, Entry> cache = new ConcurrentHashMap<>();
+
+    private record Entry(long version, LocalDate fromMonth, InventoryStatistics statistics) {
+    }
+
+    public InventoryStatisticsService(SportsEquipmentRepository equipmentRepository, CollectionVersions versions) {
+        this.equipmentRepository = equipmentRepository;
+        this.versions = versions;
+    }
+
+    /**
+     * Возвращает итоги по категориям и состояниям и распределение окончания срока службы по месяцам.
+     * @param months Количество месяцев, начиная с текущего, для распределения по месяцам.
+     * @return Сводная статистика.
+     */
+    @Transactional(readOnly = true)
+    public InventoryStatistics getStatistics(int months) {
+        if (months < 1 || months > MAX_MONTHS) {
+            throw new BadRequestException("Количество месяцев должно быть от 1 до " + MAX_MONTHS);
+        }
+        long version = versions.current(CollectionVersions.Kind.EQUIPMENT);
+        LocalDate fromMonth = LocalDate.now().withDayOfMonth(1);
+
+        Entry entry = cache.get(months);
+        if (entry != null && entry.version() == version && entry.fromMonth().equals(fromMonth)) {
+            return entry.statistics();
+        }
+
+        // Итоги хранятся до следующего изменения оборудования, поэтому считаются на основной базе, а не на реплике.
+        InventoryStatistics statistics = DataSourceRouting.onPrimary(() -> new InventoryStatistics(
+                equipmentRepository.countByCategory(),
+                equipmentRepository.countByCondition(),
+                equipmentRepository.countExpiringByMonth(fromMonth, fromMonth.plusMonths(months))));
+        cache.put(months, new Entry(version, fromMonth, statistics));
+        return statistics;
+    }
+}
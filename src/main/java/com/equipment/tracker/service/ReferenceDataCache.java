@@ -0,0 +1,100 @@
+package com.equipment.tracker.service;
+
+import com.equipment.tracker.datasource.DataSourceRouting;
+import com.equipment.tracker.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Кэш небольшого справочника в памяти процесса.
+ * Справочник целиком загружается при первом обращении, после чего поиск по ID
+ * и отсортированные списки обслуживаются без обращения к базе.
+ * Любое изменение справочника должно сопровождаться вызовом {@link #invalidate()}.
+ * Справочник загружается с основной базы: снимок с отстающей реплики держался бы до следующего изменения.
+ */
+class ReferenceDataCache<T> {
+
+    private final Supplier<List<T>> loader;
+    private final Function<T, Integer> idExtractor;
+    private final Map<String, Comparator<T>> comparators;
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot<T> snapshot;
+
+    private record Snapshot<T>(List<T> items, Map<Integer, T> byId) {
+    }
+
+    /**
+     * @param loader Загрузка всего справочника из базы.
+     * @param idExtractor Получение ID элемента.
+     * @param comparators Сравнение элементов по допустимым полям сортировки.
+     */
+    ReferenceDataCache(Supplier<List<T>> loader, Function<T, Integer> idExtractor, Map<String, Comparator<T>> comparators) {
+        this.loader = loader;
+        this.idExtractor = idExtractor;
+        this.comparators = comparators;
+    }
+
+    Optional<T> findById(Integer id) {
+        return Optional.ofNullable(snapshot().byId().get(id));
+    }
+
+    List<T> findAll(Sort sort) {
+        List<T> items = snapshot().items();
+        if (sort == null || sort.isUnsorted()) {
+            return items;
+        }
+        Comparator<T> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<T> byProperty = comparators.get(order.getProperty());
+            if (byProperty == null) {
+                throw new BadRequestException("Сортировка по полю " + order.getProperty() + " не поддерживается");
+            }
+            if (order.isDescending()) {
+                byProperty = byProperty.reversed();
+            }
+            comparator = comparator == null ? byProperty : comparator.thenComparing(byProperty);
+        }
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(comparator);
+        return sorted;
+    }
+
+    void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot<T> snapshot() {
+        Snapshot<T> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            long loadedGeneration = generation.get();
+            List<T> items = List.copyOf(DataSourceRouting.onPrimary(loader));
+            Map<Integer, T> byId = new HashMap<>();
+            for (T item : items) {
+                byId.put(idExtractor.apply(item), item);
+            }
+            Snapshot<T> loaded = new Snapshot<>(items, Map.copyOf(byId));
+            // Если справочник изменили во время загрузки, результат не кэшируется.
+            if (generation.get() == loadedGeneration) {
+                snapshot = loaded;
+            }
+            return loaded;
+        }
+    }
+
+    static <T, U extends Comparable<? super U>> Comparator<T> nullsLast(Function<T, U> keyExtractor) {
+        return Comparator.comparing(keyExtractor, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+}
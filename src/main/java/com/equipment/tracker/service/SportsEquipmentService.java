@@ -1,31 +1,56 @@
 package com.equipment.tracker.service;
 
+import com.equipment.tracker.dto.BatchItemResult;
+import com.equipment.tracker.dto.CursorPage;
+import com.equipment.tracker.dto.EquipmentSearchCriteria;
 import com.equipment.tracker.entity.*;
 import com.equipment.tracker.exception.*;
 import com.equipment.tracker.repository.*;
-import jakarta.transaction.Transactional;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.UUID;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
 
 @Service
+@Timed(value = "equipment.service", histogram = true)
+@Counted(value = "equipment.service.errors", recordFailuresOnly = true)
 @Transactional
 public class SportsEquipmentService {
     private static final Logger logger = LoggerFactory.getLogger(SportsEquipmentService.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 5000;
 
     private final SportsEquipmentRepository equipmentRepository;
-    private final CategoryRepository categoryRepository;
-    private final EquipmentConditionRepository conditionRepository;
+    private final CategoryService categoryService;
+    private final EquipmentConditionService conditionService;
+    private final CollectionVersions versions;
+    private final ApplicationEventPublisher events;
+    private final EquipmentTombstoneRepository tombstoneRepository;
+    private final EquipmentLookupCache lookupCache;
 
-    public SportsEquipmentService(SportsEquipmentRepository equipmentRepository, CategoryRepository categoryRepository, EquipmentConditionRepository conditionRepository) {
+    public SportsEquipmentService(SportsEquipmentRepository equipmentRepository, CategoryService categoryService, EquipmentConditionService conditionService,
+                                  CollectionVersions versions, ApplicationEventPublisher events, EquipmentTombstoneRepository tombstoneRepository,
+                                  EquipmentLookupCache lookupCache) {
         this.equipmentRepository = equipmentRepository;
-        this.categoryRepository = categoryRepository;
-        this.conditionRepository = conditionRepository;
+        this.categoryService = categoryService;
+        this.conditionService = conditionService;
+        this.versions = versions;
+        this.events = events;
+        this.tombstoneRepository = tombstoneRepository;
+        this.lookupCache = lookupCache;
     }
 
     public SportsEquipment createEquipment(@Valid SportsEquipment equipment, Integer categoryId, Integer conditionId) {
@@ -41,24 +66,291 @@ public class SportsEquipmentService {
         Category category = getCategoryById(categoryId);
         EquipmentCondition condition = getConditionById(conditionId);
 
-        if (equipmentRepository.existsBySerialNumber(equipment.getSerialNumber())) {
-            throw new BadRequestException("Серийный номер должен быть уникальным");
-        }
-
         equipment.setCategory(category);
         equipment.setCondition(condition);
 
         logger.info("Создание оборудования: {}", equipment);
-        SportsEquipment saved = equipmentRepository.save(equipment);
+        SportsEquipment saved = equipmentRepository.saveAndFlush(equipment);
+        versions.bump(CollectionVersions.Kind.EQUIPMENT);
+        events.publishEvent(ChangeEvent.created(CollectionVersions.Kind.EQUIPMENT, saved.getEquipmentId(), saved));
         logger.info("Оборудование сохранено с id: {}", saved.getEquipmentId());
         return saved;
     }
 
+    /**
+     * Создаёт оборудование пакетом.
+     * Категории и состояния берутся из кэша справочников, занятые серийные номера
+     * проверяются одним запросом на весь пакет, а вставки выполняются JDBC-пакетами. Некорректные элементы пропускаются
+     * и возвращаются с причиной отказа, корректные сохраняются.
+     * @param items Список оборудования с вложенными category и condition.
+     * @return Результаты обработки в порядке элементов запроса.
+     */
+    public List<BatchItemResult> createEquipmentBatch(List<SportsEquipment> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Список оборудования не может быть пустым");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Пакет не может содержать больше " + MAX_BATCH_SIZE + " элементов");
+        }
+
+        Set<String> serialNumbers = new HashSet<>();
+        for (SportsEquipment item : items) {
+            if (item != null && item.getSerialNumber() != null) {
+                serialNumbers.add(item.getSerialNumber());
+            }
+        }
+        Set<String> takenSerialNumbers = serialNumbers.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(equipmentRepository.findExistingSerialNumbers(serialNumbers));
+
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        List<SportsEquipment> accepted = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            SportsEquipment item = items.get(i);
+            try {
+                validateEquipment(item);
+                Integer categoryId = item.getCategory() != null ? item.getCategory().getCategoryId() : null;
+                Integer conditionId = item.getCondition() != null ? item.getCondition().getConditionId() : null;
+                if (categoryId == null) {
+                    throw new BadRequestException("ID категории не может быть null");
+                }
+                if (conditionId == null) {
+                    throw new BadRequestException("ID состояния не может быть null");
+                }
+                Category category = getCategoryById(categoryId);
+                EquipmentCondition condition = getConditionById(conditionId);
+                if (!takenSerialNumbers.add(item.getSerialNumber())) {
+                    throw new BadRequestException("Серийный номер должен быть уникальным");
+                }
+
+                item.setCategory(category);
+                item.setCondition(condition);
+                accepted.add(item);
+            } catch (BadRequestException | NotFoundException e) {
+                results[i] = BatchItemResult.rejected(i, item, e.getMessage());
+            }
+        }
+
+        equipmentRepository.saveAll(accepted);
+        equipmentRepository.flush();
+        // ID назначаются при сохранении, поэтому результаты для принятых элементов собираются после него.
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = BatchItemResult.created(i, items.get(i));
+            }
+        }
+        versions.bump(CollectionVersions.Kind.EQUIPMENT);
+        // Одно событие на пакет: тысячи событий подряд переполнили бы очереди подписчиков ленты изменений.
+        if (!accepted.isEmpty()) {
+            events.publishEvent(ChangeEvent.batchCreated(CollectionVersions.Kind.EQUIPMENT, List.copyOf(accepted)));
+        }
+        logger.info("Пакетно создано оборудования: {} из {}", accepted.size(), items.size());
+        return Arrays.asList(results);
+    }
+
+    @Transactional(readOnly = true)
     public List<SportsEquipment> getAllEquipment(Sort sort) {
         return equipmentRepository.findAll(sort);
     }
 
+    /**
+     * Возвращает всё оборудование, читая из базы только запрошенные поля.
+     * @param fields Список полей через запятую, см. {@link EquipmentField}.
+     * @param sortBy Поле сортировки, одно из {@link EquipmentSortKey}.
+     * @param sortDir Направление сортировки (ASC или DESC).
+     * @return Записи в виде словарей "поле - значение".
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllEquipmentFields(String fields, String sortBy, String sortDir) {
+        EquipmentSortKey sortKey = EquipmentSortKey.fromProperty(sortBy);
+        return equipmentRepository.findFields(null, EquipmentField.parse(fields), sortKey, parseDirection(sortDir), null, 0);
+    }
+
+    /**
+     * Возвращает страницу оборудования с курсорной пагинацией.
+     * @param sortBy Поле сортировки, одно из {@link EquipmentSortKey}.
+     * @param sortDir Направление сортировки (ASC или DESC).
+     * @param after Курсор предыдущей страницы или null для первой страницы.
+     * @param limit Размер страницы.
+     * @return Страница оборудования и курсор следующей страницы.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<SportsEquipment> getEquipmentPage(String sortBy, String sortDir, String after, int limit) {
+        return findPage(null, sortBy, sortDir, after, limit);
+    }
+
+    /**
+     * Возвращает страницу оборудования с курсорной пагинацией, читая только запрошенные поля.
+     * Поле сортировки добавляется к запрошенным, так как из него строится курсор.
+     * @param fields Список полей через запятую, см. {@link EquipmentField}.
+     * @return Страница записей в виде словарей "поле - значение" и курсор следующей страницы.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getEquipmentFieldsPage(String fields, String sortBy, String sortDir, String after, int limit) {
+        return findFieldsPage(null, fields, sortBy, sortDir, after, limit);
+    }
+
+    /**
+     * Ищет оборудование по комбинации фильтров с курсорной пагинацией.
+     * @param criteria Фильтры поиска.
+     * @param sortBy Поле сортировки, одно из {@link EquipmentSortKey}.
+     * @param sortDir Направление сортировки (ASC или DESC).
+     * @param after Курсор предыдущей страницы или null для первой страницы.
+     * @param limit Размер страницы.
+     * @return Страница найденного оборудования и курсор следующей страницы.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<SportsEquipment> searchEquipment(EquipmentSearchCriteria criteria, String sortBy, String sortDir, String after, int limit) {
+        validateCriteria(criteria);
+        return findPage(EquipmentSpecifications.matching(criteria), sortBy, sortDir, after, limit);
+    }
+
+    /**
+     * Ищет оборудование по комбинации фильтров, читая только запрошенные поля.
+     * @param criteria Фильтры поиска.
+     * @param fields Список полей через запятую, см. {@link EquipmentField}.
+     * @return Страница записей в виде словарей "поле - значение" и курсор следующей страницы.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> searchEquipmentFields(EquipmentSearchCriteria criteria, String fields, String sortBy, String sortDir, String after, int limit) {
+        validateCriteria(criteria);
+        return findFieldsPage(EquipmentSpecifications.matching(criteria), fields, sortBy, sortDir, after, limit);
+    }
+
+    private static void validateCriteria(EquipmentSearchCriteria criteria) {
+        if (criteria.minQuantity() != null && criteria.maxQuantity() != null && criteria.minQuantity() > criteria.maxQuantity()) {
+            throw new BadRequestException("Минимальное количество не может быть больше максимального");
+        }
+        if (isReversed(criteria.endOfServiceFrom(), criteria.endOfServiceTo()) || isReversed(criteria.lastCheckFrom(), criteria.lastCheckTo())) {
+            throw new BadRequestException("Начало диапазона дат не может быть позже конца");
+        }
+    }
+
+    /**
+     * Полнотекстовый поиск по названию и описанию, результаты упорядочены по релевантности.
+     * @param query Поисковая строка (поддерживается синтаксис websearch: кавычки, OR, минус).
+     * @param after Курсор предыдущей страницы или null для первой страницы.
+     * @param limit Размер страницы.
+     * @return Страница найденного оборудования и курсор следующей страницы.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<SportsEquipment> fullTextSearch(String query, String after, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Поисковая строка не может быть пустой");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+        FullTextCursor cursor = FullTextCursor.decode(after);
+
+        List<FullTextMatch> matches = equipmentRepository.searchFullText(query.trim(), cursor.rank(), cursor.equipmentId(), limit + 1);
+        String next = null;
+        if (matches.size() > limit) {
+            matches = matches.subList(0, limit);
+            FullTextMatch last = matches.get(limit - 1);
+            next = new FullTextCursor(last.getRank(), last.getEquipmentId()).encode();
+        }
+        List<UUID> ids = matches.stream().map(FullTextMatch::getEquipmentId).toList();
+        Map<UUID, SportsEquipment> found = new HashMap<>();
+        for (SportsEquipment equipment : equipmentRepository.findAllById(ids)) {
+            found.put(equipment.getEquipmentId(), equipment);
+        }
+        List<SportsEquipment> ranked = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            SportsEquipment equipment = found.get(id);
+            if (equipment != null) {
+                ranked.add(equipment);
+            }
+        }
+        return new CursorPage<>(ranked, next);
+    }
+
+    private static boolean isReversed(LocalDate from, LocalDate to) {
+        return from != null && to != null && from.isAfter(to);
+    }
+
+    private CursorPage<SportsEquipment> findPage(Specification<SportsEquipment> spec, String sortBy, String sortDir, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+        EquipmentSortKey sortKey = EquipmentSortKey.fromProperty(sortBy);
+        Sort.Direction direction = parseDirection(sortDir);
+        EquipmentCursor cursor = after == null || after.isBlank() ? null : EquipmentCursor.decode(after, sortKey, direction);
+
+        List<SportsEquipment> items = equipmentRepository.findPage(spec, sortKey, direction, cursor, limit + 1);
+        if (items.size() <= limit) {
+            return new CursorPage<>(items, null);
+        }
+        items = items.subList(0, limit);
+        SportsEquipment last = items.get(limit - 1);
+        String next = new EquipmentCursor(sortKey, direction, sortKey.extract(last), last.getEquipmentId()).encode();
+        return new CursorPage<>(items, next);
+    }
+
+    private CursorPage<Map<String, Object>> findFieldsPage(Specification<SportsEquipment> spec, String fields, String sortBy, String sortDir, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+        EquipmentSortKey sortKey = EquipmentSortKey.fromProperty(sortBy);
+        Sort.Direction direction = parseDirection(sortDir);
+        EquipmentCursor cursor = after == null || after.isBlank() ? null : EquipmentCursor.decode(after, sortKey, direction);
+        Set<EquipmentField> selected = EquipmentField.parse(fields);
+        selected.add(EquipmentField.fromProperty(sortKey.getProperty()));
+
+        List<Map<String, Object>> items = equipmentRepository.findFields(spec, selected, sortKey, direction, cursor, limit + 1);
+        if (items.size() <= limit) {
+            return new CursorPage<>(items, null);
+        }
+        items = items.subList(0, limit);
+        Map<String, Object> last = items.get(limit - 1);
+        String next = new EquipmentCursor(sortKey, direction, (Comparable<?>) last.get(sortKey.getProperty()),
+                (UUID) last.get(EquipmentField.EQUIPMENT_ID.getProperty())).encode();
+        return new CursorPage<>(items, next);
+    }
+
+    private static Sort.Direction parseDirection(String sortDir) {
+        return Sort.Direction.fromOptionalString(sortDir)
+                .orElseThrow(() -> new BadRequestException("Некорректное направление сортировки: " + sortDir));
+    }
+
+    /**
+     * Получает оборудование по ID через кэш часто запрашиваемых записей.
+     * Транзакция не открывается, чтобы попадание в кэш не занимало соединение из пула.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public SportsEquipment getEquipmentById(UUID id) {
+        if (id == null) {
+            throw new BadRequestException("ID оборудования не может быть null");
+        }
+        SportsEquipment equipment = lookupCache.getById(id, this::loadEquipment);
+        if (equipment == null) {
+            throw new NotFoundException("Не найдено оборудование с id: " + id);
+        }
+        return equipment;
+    }
+
+    /**
+     * Получает оборудование по серийному номеру через кэш часто запрашиваемых записей.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public SportsEquipment getEquipmentBySerialNumber(String serialNumber) {
+        if (serialNumber == null || serialNumber.isBlank()) {
+            throw new BadRequestException("Серийный номер не может быть пустым");
+        }
+        SportsEquipment equipment = lookupCache.getBySerialNumber(serialNumber,
+                equipmentRepository::findEquipmentIdBySerialNumber, this::loadEquipment);
+        if (equipment == null) {
+            throw new NotFoundException("Не найдено оборудование с серийным номером: " + serialNumber);
+        }
+        return equipment;
+    }
+
+    private SportsEquipment loadEquipment(UUID id) {
+        return equipmentRepository.findById(id).orElse(null);
+    }
+
+    // Изменяемая запись загружается мимо кэша: закэшированные экземпляры общие для всех запросов.
+    private SportsEquipment findEquipmentForUpdate(UUID id) {
         if (id == null) {
             throw new BadRequestException("ID оборудования не может быть null");
         }
@@ -66,7 +358,24 @@ public class SportsEquipmentService {
                 .orElseThrow(() -> new NotFoundException("Не найдено оборудование с id: " + id));
     }
 
-    public SportsEquipment updateEquipment(UUID id, @Valid SportsEquipment updatedEquipment, Integer newCategoryId, Integer newConditionId) {
+    private static void checkVersion(SportsEquipment equipment, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(equipment.getVersion())) {
+            throw new PreconditionFailedException("Оборудование изменено: текущая версия " + equipment.getVersion()
+                    + ", в If-Match указана " + expectedVersion);
+        }
+    }
+
+    /**
+     * Полностью заменяет данные оборудования.
+     * @param id ID оборудования.
+     * @param updatedEquipment Новые данные; ID и версия из тела запроса не читаются.
+     * @param newCategoryId ID новой категории.
+     * @param newConditionId ID нового состояния.
+     * @param expectedVersion Версия из заголовка If-Match или null, если клиент её не передал.
+     * @return Обновлённое оборудование с новой версией.
+     */
+    public SportsEquipment updateEquipment(UUID id, @Valid SportsEquipment updatedEquipment, Integer newCategoryId, Integer newConditionId,
+                                           Long expectedVersion) {
         if (id == null) {
             throw new BadRequestException("ID оборудования не может быть null");
         }
@@ -79,16 +388,11 @@ public class SportsEquipmentService {
 
         validateEquipment(updatedEquipment);
 
-        SportsEquipment existingEquipment = getEquipmentById(id);
+        SportsEquipment existingEquipment = findEquipmentForUpdate(id);
+        checkVersion(existingEquipment, expectedVersion);
         Category newCategory = getCategoryById(newCategoryId);
         EquipmentCondition newCondition = getConditionById(newConditionId);
 
-        if (!existingEquipment.getSerialNumber().equals(updatedEquipment.getSerialNumber())) {
-            if (equipmentRepository.existsBySerialNumber(updatedEquipment.getSerialNumber())) {
-                throw new BadRequestException("Серийный номер должен быть уникальным");
-            }
-        }
-
         existingEquipment.setSerialNumber(updatedEquipment.getSerialNumber());
         existingEquipment.setEquipmentName(updatedEquipment.getEquipmentName());
         existingEquipment.setQuantity(updatedEquipment.getQuantity());
@@ -98,33 +402,135 @@ public class SportsEquipmentService {
         existingEquipment.setCategory(newCategory);
         existingEquipment.setCondition(newCondition);
 
-        SportsEquipment saved = equipmentRepository.save(existingEquipment);
+        SportsEquipment saved = equipmentRepository.saveAndFlush(existingEquipment);
+        versions.bump(CollectionVersions.Kind.EQUIPMENT);
+        events.publishEvent(ChangeEvent.updated(CollectionVersions.Kind.EQUIPMENT, saved.getEquipmentId(), saved));
         logger.info("Обновлено оборудование с id {}", saved.getEquipmentId());
         return saved;
     }
 
+    /**
+     * Частично обновляет оборудование по правилам JSON Merge Patch (RFC 7396): отсутствующие поля
+     * не меняются, null очищает поле. Категория и состояние ищутся, только если переданы в патче,
+     * а в UPDATE попадают только изменённые столбцы.
+     * @param id ID оборудования.
+     * @param patch Патч в виде JSON-объекта.
+     * @param expectedVersion Версия из заголовка If-Match или null, если клиент её не передал.
+     * @return Обновлённое оборудование с новой версией.
+     */
+    public SportsEquipment patchEquipment(UUID id, JsonNode patch, Long expectedVersion) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("Патч должен быть JSON-объектом");
+        }
+        SportsEquipment equipment = findEquipmentForUpdate(id);
+        checkVersion(equipment, expectedVersion);
+
+        for (Iterator<Map.Entry<String, JsonNode>> fields = patch.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            applyPatchField(equipment, field.getKey(), field.getValue());
+        }
+        validateEquipment(equipment);
+
+        SportsEquipment saved = equipmentRepository.saveAndFlush(equipment);
+        versions.bump(CollectionVersions.Kind.EQUIPMENT);
+        events.publishEvent(ChangeEvent.updated(CollectionVersions.Kind.EQUIPMENT, saved.getEquipmentId(), saved));
+        logger.info("Частично обновлено оборудование с id {}, версия {}", saved.getEquipmentId(), saved.getVersion());
+        return saved;
+    }
+
     public void deleteEquipment(UUID id) {
         if (id == null) {
             throw new BadRequestException("ID оборудования не может быть null");
         }
-        if (!equipmentRepository.existsById(id)) {
+        if (equipmentRepository.deleteByEquipmentId(id) == 0) {
             throw new NotFoundException("Не найдено оборудование с id: " + id);
         }
-        equipmentRepository.deleteById(id);
+        tombstoneRepository.insert(id, LocalDateTime.now());
+        versions.bump(CollectionVersions.Kind.EQUIPMENT);
+        events.publishEvent(ChangeEvent.deleted(CollectionVersions.Kind.EQUIPMENT, id));
         logger.info("Удалено оборудование с id {}", id);
     }
 
+    private void applyPatchField(SportsEquipment equipment, String name, JsonNode value) {
+        switch (name) {
+            case "serialNumber" -> equipment.setSerialNumber(patchText(name, value));
+            case "equipmentName" -> equipment.setEquipmentName(patchText(name, value));
+            case "description" -> equipment.setDescription(patchText(name, value));
+            case "quantity" -> equipment.setQuantity(patchInteger(name, value));
+            case "lastCheckDate" -> equipment.setLastCheckDate(patchDate(name, value));
+            case "endOfServiceDate" -> equipment.setEndOfServiceDate(patchDate(name, value));
+            case "category" -> {
+                Integer categoryId = patchReferenceId(value, "categoryId", "ID категории не может быть null");
+                if (!categoryId.equals(equipment.getCategory().getCategoryId())) {
+                    equipment.setCategory(getCategoryById(categoryId));
+                }
+            }
+            case "condition" -> {
+                Integer conditionId = patchReferenceId(value, "conditionId", "ID состояния не может быть null");
+                if (!conditionId.equals(equipment.getCondition().getConditionId())) {
+                    equipment.setCondition(getConditionById(conditionId));
+                }
+            }
+            default -> throw new BadRequestException("Поле " + name + " нельзя изменить");
+        }
+    }
+
+    private static String patchText(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new BadRequestException("Поле " + name + " должно быть строкой");
+        }
+        return value.textValue();
+    }
+
+    private static Integer patchInteger(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isIntegralNumber() || !value.canConvertToInt()) {
+            throw new BadRequestException("Поле " + name + " должно быть целым числом");
+        }
+        return value.intValue();
+    }
+
+    private static LocalDate patchDate(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        try {
+            if (value.isTextual()) {
+                return LocalDate.parse(value.textValue());
+            }
+        } catch (DateTimeParseException ignored) {
+            // сообщение ниже
+        }
+        throw new BadRequestException("Поле " + name + " должно быть датой в формате ГГГГ-ММ-ДД");
+    }
+
+    private static Integer patchReferenceId(JsonNode value, String idField, String nullMessage) {
+        JsonNode id = value.isObject() ? value.get(idField) : null;
+        if (id == null || id.isNull()) {
+            throw new BadRequestException(nullMessage);
+        }
+        if (!id.isIntegralNumber() || !id.canConvertToInt()) {
+            throw new BadRequestException("Поле " + idField + " должно быть целым числом");
+        }
+        return id.intValue();
+    }
+
     private Category getCategoryById(Integer id) {
-        return categoryRepository.findById(id)
+        return categoryService.findCategoryById(id)
                 .orElseThrow(() -> new NotFoundException("Категория не найдена с id: " + id));
     }
 
     private EquipmentCondition getConditionById(Integer id) {
-        return conditionRepository.findById(id)
+        return conditionService.findConditionById(id)
                 .orElseThrow(() -> new NotFoundException("Состояние не найдено с id: " + id));
     }
 
-    private void validateEquipment(SportsEquipment equipment) {
+    void validateEquipment(SportsEquipment equipment) {
         if (equipment == null) {
             throw new BadRequestException("Оборудование не может быть null");
         }
@@ -0,0 +1,33 @@
+-- Исходная схема, которую ранее создавал Hibernate (ddl-auto=update).
+-- Для уже существующей базы эта миграция не выполняется: Flyway ставит её версию
+-- как baseline (spring.flyway.baseline-on-migrate) и применяет только следующие.
+CREATE TABLE category (
+    category_id   INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    category_name VARCHAR(255) NOT NULL,
+    description   VARCHAR(255),
+    CONSTRAINT pk_category PRIMARY KEY (category_id)
+);
+
+CREATE TABLE equipment_condition (
+    condition_id   INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    condition_name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_equipment_condition PRIMARY KEY (condition_id),
+    CONSTRAINT uk_equipment_condition_name UNIQUE (condition_name)
+);
+
+CREATE TABLE sports_equipment (
+    equipment_id        UUID         NOT NULL,
+    category_id         INTEGER      NOT NULL,
+    serial_number       VARCHAR(255) NOT NULL,
+    equipment_name      VARCHAR(255) NOT NULL,
+    quantity            INTEGER      NOT NULL,
+    condition_id        INTEGER      NOT NULL,
+    last_check_date     DATE,
+    end_of_service_date DATE         NOT NULL,
+    created_at          TIMESTAMP(6) NOT NULL,
+    description         TEXT,
+    CONSTRAINT pk_sports_equipment PRIMARY KEY (equipment_id),
+    CONSTRAINT uk_sports_equipment_serial_number UNIQUE (serial_number),
+    CONSTRAINT fk_sports_equipment_category FOREIGN KEY (category_id) REFERENCES category (category_id),
+    CONSTRAINT fk_sports_equipment_condition FOREIGN KEY (condition_id) REFERENCES equipment_condition (condition_id)
+);
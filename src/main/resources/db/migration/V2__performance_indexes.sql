@@ -0,0 +1,57 @@
+-- Ограничения, созданные Hibernate, получают случайные имена. Переименовываем их,
+-- чтобы в базе, перешедшей с ddl-auto, имена совпадали с V1.
+DO
+$$
+DECLARE
+    target   RECORD;
+    old_name TEXT;
+BEGIN
+    FOR target IN
+        SELECT *
+        FROM (VALUES ('sports_equipment', 'serial_number', 'u', 'uk_sports_equipment_serial_number'),
+                     ('sports_equipment', 'category_id', 'f', 'fk_sports_equipment_category'),
+                     ('sports_equipment', 'condition_id', 'f', 'fk_sports_equipment_condition'),
+                     ('equipment_condition', 'condition_name', 'u', 'uk_equipment_condition_name'))
+                 AS t(table_name, column_name, constraint_type, new_name)
+    LOOP
+        SELECT con.conname
+        INTO old_name
+        FROM pg_constraint con
+                 JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.conrelid = target.table_name::regclass
+          AND con.contype = target.constraint_type::"char"
+          AND cardinality(con.conkey) = 1
+          AND att.attname = target.column_name
+        LIMIT 1;
+
+        IF old_name IS NOT NULL AND old_name <> target.new_name THEN
+            EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I', target.table_name, old_name, target.new_name);
+        END IF;
+    END LOOP;
+END
+$$;
+
+-- Названия категорий уникальны: сервис проверял это только запросом перед вставкой.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_category_name ON category (category_name);
+
+-- Внешние ключи: соединения со справочниками и проверки при удалении категории или состояния.
+CREATE INDEX IF NOT EXISTS idx_sports_equipment_category ON sports_equipment (category_id);
+CREATE INDEX IF NOT EXISTS idx_sports_equipment_condition ON sports_equipment (condition_id);
+
+-- Даты: отчёты о списании и просроченных проверках, фильтры поиска.
+CREATE INDEX IF NOT EXISTS idx_sports_equipment_end_of_service_id ON sports_equipment (end_of_service_date, equipment_id);
+CREATE INDEX IF NOT EXISTS idx_sports_equipment_last_check ON sports_equipment (last_check_date);
+CREATE INDEX IF NOT EXISTS idx_sports_equipment_created_at_id ON sports_equipment (created_at, equipment_id);
+
+-- Курсорная пагинация по остальным ключам сортировки.
+CREATE INDEX IF NOT EXISTS idx_sports_equipment_name_id ON sports_equipment (equipment_name, equipment_id);
+CREATE INDEX IF NOT EXISTS idx_sports_equipment_quantity_id ON sports_equipment (quantity, equipment_id);
+
+-- Поиск по префиксу названия: lower(equipment_name) LIKE 'префикс%'.
+CREATE INDEX IF NOT EXISTS idx_sports_equipment_name_prefix
+    ON sports_equipment (lower(equipment_name) text_pattern_ops);
+
+-- fillfactor таблицы sports_equipment оставлен по умолчанию (100). Запас места на странице
+-- нужен для HOT-обновлений, но они невозможны, если меняется индексированный столбец, а типичные
+-- изменения затрагивают quantity, condition_id, last_check_date и updated_at (V5), которые
+-- входят в индексы выше. Незаполненные страницы только увеличили бы таблицу и число чтений.
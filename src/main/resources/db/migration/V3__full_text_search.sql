@@ -0,0 +1,10 @@
+-- Полнотекстовый поиск по названию и описанию оборудования.
+ALTER TABLE sports_equipment
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('russian'::regconfig, coalesce(equipment_name, '')), 'A') ||
+            setweight(to_tsvector('russian'::regconfig, coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_sports_equipment_search_vector
+    ON sports_equipment USING GIN (search_vector);
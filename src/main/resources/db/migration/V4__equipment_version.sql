@@ -0,0 +1,3 @@
+-- Версия записи для оптимистической блокировки (PATCH с If-Match).
+ALTER TABLE sports_equipment
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,26 @@
+-- Время последнего изменения записи для инкрементальной синхронизации (GET /api/equipment/changes).
+-- Существующие записи считаются изменёнными в момент создания.
+ALTER TABLE sports_equipment
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+
+UPDATE sports_equipment
+SET updated_at = created_at
+WHERE updated_at IS NULL;
+
+ALTER TABLE sports_equipment
+    ALTER COLUMN updated_at SET DEFAULT CURRENT_TIMESTAMP,
+    ALTER COLUMN updated_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_sports_equipment_updated_at_id
+    ON sports_equipment (updated_at, equipment_id);
+
+-- Следы удалённого оборудования. Хранятся ограниченное время
+-- (equipment.changes.tombstone-retention-days) и удаляются плановой задачей.
+CREATE TABLE IF NOT EXISTS sports_equipment_tombstone (
+    equipment_id UUID         NOT NULL,
+    deleted_at   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_sports_equipment_tombstone PRIMARY KEY (equipment_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sports_equipment_tombstone_deleted_at_id
+    ON sports_equipment_tombstone (deleted_at, equipment_id);
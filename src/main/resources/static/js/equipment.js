@@ -57,15 +57,117 @@ async function loadConditions() {
     });
 }
 
+// Таблица виртуальная: данные страниц копятся в equipmentList, а в DOM находятся только строки,
+// попадающие в видимую область прокрутки, между двумя строками-распорками нужной высоты.
+const equipmentScroll = document.getElementById('equipmentScroll');
+const equipmentFields = 'serialNumber,equipmentName,category,condition,quantity,lastCheckDate,endOfServiceDate,description';
+const PAGE_SIZE = 200;
+const OVERSCAN = 10;
+
+let equipmentList = [];
+// Записи по ID оборудования: изменения из ленты применяются к ним на месте.
+const equipmentRows = new Map();
+let sortBy = 'serialNumber';
+let sortDir = 'ASC';
+let nextCursor = null;
+let hasMorePages = true;
+let pageRequest = null;
+let listGeneration = 0;
+let rowHeight = 0;
+let renderScheduled = false;
+
+// Загружает список заново с первой страницы, например после смены сортировки.
 async function loadEquipment() {
-    const res = await fetch('/api/equipment?sortBy=serialNumber&sortDir=ASC');
-    if (!res.ok) throw new Error('Ошибка загрузки оборудования');
-    const equipmentList = await res.json();
+    listGeneration++;
+    equipmentList = [];
+    equipmentRows.clear();
+    nextCursor = null;
+    hasMorePages = true;
+    pageRequest = null;
+    equipmentScroll.scrollTop = 0;
+    updateSortIndicators();
+    await loadNextPage();
+}
 
-    equipmentTableBody.innerHTML = '';
-    equipmentList.forEach(eq => {
-        const tr = document.createElement('tr');
-        tr.innerHTML = `
+function loadNextPage() {
+    if (!hasMorePages) return Promise.resolve();
+    if (pageRequest) return pageRequest;
+    const generation = listGeneration;
+    const params = new URLSearchParams({ sortBy, sortDir, limit: PAGE_SIZE, fields: equipmentFields });
+    if (nextCursor) params.set('after', nextCursor);
+    pageRequest = fetch(`/api/equipment/page?${params}`)
+        .then(res => {
+            if (!res.ok) throw new Error('Ошибка загрузки оборудования');
+            return res.json();
+        })
+        .then(page => {
+            // Ответ на запрос до смены сортировки уже не нужен.
+            if (generation !== listGeneration) return;
+            page.items.forEach(eq => {
+                if (!equipmentRows.has(eq.equipmentId)) {
+                    equipmentRows.set(eq.equipmentId, eq);
+                    equipmentList.push(eq);
+                }
+            });
+            nextCursor = page.next;
+            hasMorePages = page.next != null;
+            renderWindow();
+        })
+        .finally(() => {
+            if (generation === listGeneration) pageRequest = null;
+        });
+    return pageRequest;
+}
+
+function scheduleRender() {
+    if (renderScheduled) return;
+    renderScheduled = true;
+    requestAnimationFrame(() => {
+        renderScheduled = false;
+        renderWindow();
+    });
+}
+
+function spacerRow(height) {
+    const tr = document.createElement('tr');
+    tr.className = 'spacer-row';
+    tr.innerHTML = `<td colspan="9" style="height: ${height}px"></td>`;
+    return tr;
+}
+
+function renderWindow() {
+    const height = rowHeight || 57;
+    const visible = Math.ceil(equipmentScroll.clientHeight / height);
+    // Начало окна всегда чётное, чтобы чередование цвета строк не менялось при прокрутке.
+    let first = Math.max(0, Math.floor(equipmentScroll.scrollTop / height) - OVERSCAN);
+    first -= first % 2;
+    const last = Math.min(equipmentList.length, first + visible + 2 * OVERSCAN);
+
+    const fragment = document.createDocumentFragment();
+    fragment.appendChild(spacerRow(first * height));
+    for (let i = first; i < last; i++) {
+        fragment.appendChild(renderRow(equipmentList[i]));
+    }
+    fragment.appendChild(spacerRow((equipmentList.length - last) * height));
+    equipmentTableBody.replaceChildren(fragment);
+
+    // Высота строки измеряется по первой отрисованной строке: от неё зависят распорки.
+    if (!rowHeight && last > first) {
+        rowHeight = equipmentTableBody.children[1].getBoundingClientRect().height;
+        if (rowHeight !== height) {
+            renderWindow();
+            return;
+        }
+    }
+    // Следующая страница запрашивается заранее, пока до конца загруженных строк осталось меньше окна.
+    if (last + visible + OVERSCAN >= equipmentList.length && hasMorePages) {
+        loadNextPage().catch(error => console.error(error));
+    }
+}
+
+function renderRow(eq) {
+    const tr = document.createElement('tr');
+    tr.innerHTML = `
             <td>${eq.serialNumber}</td>
             <td>${eq.equipmentName}</td>
             <td>${eq.category?.categoryName || ''}</td>
@@ -82,11 +184,126 @@ async function loadEquipment() {
                     <i class="bi bi-x-square-fill"></i>
                 </button>
             </td>
-        `;
-        equipmentTableBody.appendChild(tr);
+    `;
+    return tr;
+}
+
+// Сравнение в порядке текущей сортировки сервера: по ключу, при равенстве по ID.
+function compareRows(a, b) {
+    const left = a[sortBy];
+    const right = b[sortBy];
+    let result = left < right ? -1 : left > right ? 1 : 0;
+    if (result === 0) result = a.equipmentId < b.equipmentId ? -1 : a.equipmentId > b.equipmentId ? 1 : 0;
+    return sortDir === 'ASC' ? result : -result;
+}
+
+function upsertRow(eq) {
+    const existing = equipmentRows.get(eq.equipmentId);
+    if (existing) {
+        equipmentList.splice(equipmentList.indexOf(existing), 1);
+        equipmentRows.delete(eq.equipmentId);
+    }
+    // Запись за последней загруженной строкой придёт со следующими страницами.
+    const lastLoaded = equipmentList[equipmentList.length - 1];
+    if (hasMorePages && lastLoaded && compareRows(eq, lastLoaded) > 0) {
+        scheduleRender();
+        return;
+    }
+    let low = 0;
+    let high = equipmentList.length;
+    while (low < high) {
+        const middle = (low + high) >> 1;
+        if (compareRows(equipmentList[middle], eq) < 0) low = middle + 1;
+        else high = middle;
+    }
+    equipmentList.splice(low, 0, eq);
+    equipmentRows.set(eq.equipmentId, eq);
+    scheduleRender();
+}
+
+function removeRow(id) {
+    const existing = equipmentRows.get(id);
+    if (existing) {
+        equipmentList.splice(equipmentList.indexOf(existing), 1);
+        equipmentRows.delete(id);
+        scheduleRender();
+    }
+}
+
+// Переименование категории или состояния меняет подписи в строках, которые на них ссылаются.
+function renameReference(property, idField, nameField, reference) {
+    equipmentList.forEach(eq => {
+        if (eq[property]?.[idField] === reference[idField]) {
+            eq[property] = { ...eq[property], [nameField]: reference[nameField] };
+        }
+    });
+    scheduleRender();
+}
+
+function updateSortIndicators() {
+    document.querySelectorAll('th[data-sort]').forEach(th => {
+        const icon = th.querySelector('i');
+        icon.className = th.dataset.sort !== sortBy ? 'bi bi-arrow-down-up'
+            : sortDir === 'ASC' ? 'bi bi-sort-up' : 'bi bi-sort-down';
+    });
+}
+
+async function applyChange(change) {
+    if (change.kind === 'EQUIPMENT') {
+        if (change.type === 'DELETED') {
+            removeRow(change.id);
+        } else if (change.type === 'BATCH_CREATED') {
+            change.data.forEach(upsertRow);
+        } else {
+            upsertRow(change.data);
+        }
+    } else if (change.kind === 'CATEGORIES') {
+        const selected = categorySelect.value;
+        await loadCategories();
+        categorySelect.value = selected;
+        if (change.type === 'UPDATED') renameReference('category', 'categoryId', 'categoryName', change.data);
+    } else if (change.kind === 'CONDITIONS') {
+        const selected = conditionSelect.value;
+        await loadConditions();
+        conditionSelect.value = selected;
+        if (change.type === 'UPDATED') renameReference('condition', 'conditionId', 'conditionName', change.data);
+    }
+}
+
+// После обрыва соединения пропущенные события не восстанавливаются, поэтому список загружается заново.
+function subscribeToChanges() {
+    const source = new EventSource('/api/events');
+    let interrupted = false;
+    source.addEventListener('change', e => {
+        applyChange(JSON.parse(e.data)).catch(error => console.error(error));
     });
+    source.onerror = () => {
+        interrupted = true;
+    };
+    source.onopen = () => {
+        if (interrupted) {
+            interrupted = false;
+            loadEquipment().catch(error => console.error(error));
+        }
+    };
 }
 
+equipmentScroll.addEventListener('scroll', scheduleRender);
+window.addEventListener('resize', scheduleRender);
+
+// Сортировка выполняется сервером: щелчок по заголовку загружает список заново.
+document.querySelector('#equipmentScroll thead').addEventListener('click', (e) => {
+    const th = e.target.closest('th[data-sort]');
+    if (!th) return;
+    if (th.dataset.sort === sortBy) {
+        sortDir = sortDir === 'ASC' ? 'DESC' : 'ASC';
+    } else {
+        sortBy = th.dataset.sort;
+        sortDir = 'ASC';
+    }
+    loadEquipment().catch(error => alert(error.message));
+});
+
 equipmentTableBody.addEventListener('click', async (e) => {
     const button = e.target.closest('button');
     if (!button) return;
@@ -117,7 +334,7 @@ equipmentTableBody.addEventListener('click', async (e) => {
         try {
             const res = await fetch(`/api/equipment/${id}`, { method: 'DELETE' });
             if (!res.ok) throw new Error('Ошибка удаления оборудования');
-            await loadEquipment();
+            removeRow(id);
         } catch (error) {
             alert(error.message);
         }
@@ -174,8 +391,8 @@ equipmentForm.addEventListener('submit', async (e) => {
             throw new Error(err || 'Ошибка при сохранении оборудования');
         }
 
+        upsertRow(await res.json());
         clearForm();
-        await loadEquipment();
 
         const collapseEl = document.getElementById('equipmentFormCollapse');
         const bsCollapse = bootstrap.Collapse.getInstance(collapseEl);
@@ -198,6 +415,7 @@ window.onload = async () => {
         await loadCategories();
         await loadConditions();
         await loadEquipment();
+        subscribeToChanges();
     } catch (error) {
         alert(error.message);
     }
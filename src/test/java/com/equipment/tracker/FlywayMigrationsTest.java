@@ -0,0 +1,39 @@
+package com.equipment.tracker;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Миграции Flyway на настоящем PostgreSQL: схема создаётся только миграциями,
+ * после чего Hibernate сверяет её с сущностями (ddl-auto=validate), как при запуске в эксплуатации.
+ * Без Docker тест пропускается.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationsTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void migrations_ProduceSchemaMatchingEntities() {
+        assertEquals(0, flyway.info().pending().length);
+        assertNotNull(flyway.info().current());
+        assertEquals("5", flyway.info().current().getVersion().getVersion());
+    }
+}
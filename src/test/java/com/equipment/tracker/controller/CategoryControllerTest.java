@@ -2,12 +2,17 @@ package com.equipment.tracker.controller;
 import com.equipment.tracker.entity.Category;
 import com.equipment.tracker.exception.NotFoundException;
 import com.equipment.tracker.service.CategoryService;
+import com.equipment.tracker.service.CollectionVersions;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -19,6 +24,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CategoryController.class)
+@Import({SerializedResponseCache.class, CollectionVersions.class})
 class CategoryControllerTest {
 
     @Autowired
@@ -30,6 +36,14 @@ class CategoryControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CollectionVersions versions;
+
+    @BeforeEach
+    void invalidateResponseCache() {
+        versions.bump(CollectionVersions.Kind.values());
+    }
+
     @Test
     void createCategory_Success() throws Exception {
         Category category = new Category();
@@ -45,6 +59,31 @@ class CategoryControllerTest {
                 .andExpect(jsonPath("$.categoryName").value("Спорт"));
     }
 
+    @Test
+    void createCategory_UniqueConstraintViolation_ReturnsBadRequest() throws Exception {
+        Category category = new Category();
+        category.setCategoryName("Спорт");
+
+        when(categoryService.createCategory(any(Category.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("duplicate key value violates unique constraint \"uk_category_name\"")));
+
+        mockMvc.perform(post("/api/categories").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(category)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Категория должна быть уникальной"));
+    }
+
+    @Test
+    void deleteCategory_ReferencedByEquipment_ReturnsConflict() throws Exception {
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("update or delete on table \"category\" violates foreign key constraint \"fk_sports_equipment_category\"")))
+                .when(categoryService).deleteCategory(1);
+
+        mockMvc.perform(delete("/api/categories/1"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Категория не найдена или используется оборудованием"));
+    }
+
     @Test
     void getCategoryById_Success() throws Exception {
         Category category = new Category();
@@ -104,4 +143,20 @@ class CategoryControllerTest {
         mockMvc.perform(delete("/api/categories/1"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void getAllCategories_RepeatedRequestWithETag_ReturnsNotModified() throws Exception {
+        when(categoryService.getAllCategories(any(Sort.class))).thenReturn(List.of());
+
+        String etag = mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/categories?sortDir=DESC").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(categoryService, times(2)).getAllCategories(any(Sort.class));
+    }
 }
@@ -0,0 +1,183 @@
+package com.equipment.tracker.controller;
+
+import com.equipment.tracker.service.ChangeEvent;
+import com.equipment.tracker.service.CollectionVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedTest {
+
+    private final ChangeFeed feed = new ChangeFeed(Jackson2ObjectMapperBuilder.json().build(), Runnable::run, 16, 30000);
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Соединение закрыто");
+            }
+            StringBuilder frame = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                frame.append(part.getData());
+            }
+            frames.add(frame.toString());
+        }
+    }
+
+    /**
+     * Клиент, который перестал читать: отправка висит, пока тест её не отпустит.
+     */
+    private static class BlockedEmitter extends SseEmitter {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private static void awaitFrames(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.frames.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, emitter.frames.size());
+    }
+
+    @Test
+    void onChange_SendsSerializedEventToEverySubscriber() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        feed.register(first);
+        feed.register(second);
+        UUID id = UUID.randomUUID();
+
+        feed.onChange(ChangeEvent.deleted(CollectionVersions.Kind.EQUIPMENT, id));
+        feed.onChange(ChangeEvent.deleted(CollectionVersions.Kind.CATEGORIES, 3));
+
+        assertEquals(2, first.frames.size());
+        assertEquals(first.frames, second.frames);
+        String frame = first.frames.get(0);
+        assertTrue(frame.startsWith("id:1\nevent:change\ndata:"));
+        assertTrue(frame.contains("\"kind\":\"EQUIPMENT\""));
+        assertTrue(frame.contains("\"type\":\"DELETED\""));
+        assertTrue(frame.contains("\"id\":\"" + id + "\""));
+        assertTrue(first.frames.get(1).startsWith("id:2\n"));
+    }
+
+    @Test
+    void broadcast_DropsDisconnectedSubscriber() {
+        RecordingEmitter alive = new RecordingEmitter();
+        RecordingEmitter disconnected = new RecordingEmitter();
+        disconnected.broken = true;
+        feed.register(alive);
+        feed.register(disconnected);
+
+        feed.onChange(ChangeEvent.deleted(CollectionVersions.Kind.CONDITIONS, 1));
+
+        assertEquals(1, alive.frames.size());
+        assertEquals(1, feed.getSubscriberCount());
+    }
+
+    @Test
+    void heartbeat_SendsCommentOnly() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.register(emitter);
+
+        feed.heartbeat();
+
+        assertEquals(List.of(":ping\n\n"), emitter.frames);
+    }
+
+    @Test
+    void slowSubscriber_DoesNotDelayOthersAndIsDroppedOnOverflow() throws Exception {
+        ExecutorService delivery = Executors.newCachedThreadPool();
+        ChangeFeed bounded = new ChangeFeed(Jackson2ObjectMapperBuilder.json().build(), delivery, 2, 30000);
+        BlockedEmitter blocked = new BlockedEmitter();
+        RecordingEmitter fast = new RecordingEmitter();
+        bounded.register(blocked);
+        bounded.register(fast);
+        try {
+            bounded.onChange(ChangeEvent.deleted(CollectionVersions.Kind.CONDITIONS, 1));
+            assertTrue(blocked.entered.await(5, TimeUnit.SECONDS));
+
+            // Первое событие висит в отправке, два следующих заполняют очередь, четвёртое её переполняет.
+            for (int i = 2; i <= 4; i++) {
+                bounded.onChange(ChangeEvent.deleted(CollectionVersions.Kind.CONDITIONS, i));
+            }
+
+            awaitFrames(fast, 4);
+            assertTrue(fast.frames.get(3).startsWith("id:4\n"));
+            assertEquals(1, bounded.getSubscriberCount());
+        } finally {
+            blocked.released.countDown();
+            delivery.shutdownNow();
+        }
+    }
+
+    @Test
+    void heartbeat_DisconnectsSubscriberStuckInSend() throws Exception {
+        ExecutorService delivery = Executors.newCachedThreadPool();
+        ChangeFeed bounded = new ChangeFeed(Jackson2ObjectMapperBuilder.json().build(), delivery, 16, 50);
+        BlockedEmitter blocked = new BlockedEmitter();
+        RecordingEmitter fast = new RecordingEmitter();
+        bounded.register(blocked);
+        bounded.register(fast);
+        try {
+            bounded.onChange(ChangeEvent.deleted(CollectionVersions.Kind.CONDITIONS, 1));
+            assertTrue(blocked.entered.await(5, TimeUnit.SECONDS));
+            awaitFrames(fast, 1);
+            Thread.sleep(100);
+
+            bounded.heartbeat();
+
+            assertEquals(1, bounded.getSubscriberCount());
+            awaitFrames(fast, 2);
+            assertEquals(":ping\n\n", fast.frames.get(1));
+        } finally {
+            blocked.released.countDown();
+            delivery.shutdownNow();
+        }
+    }
+
+    @Test
+    void batchLargerThanQueue_IsDeliveredAsOneEventWithoutDisconnect() {
+        List<Runnable> pending = new ArrayList<>();
+        ChangeFeed bounded = new ChangeFeed(Jackson2ObjectMapperBuilder.json().build(), pending::add, 4, 30000);
+        RecordingEmitter emitter = new RecordingEmitter();
+        bounded.register(emitter);
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(Map.of("equipmentId", UUID.randomUUID(), "serialNumber", "SN" + i));
+        }
+
+        bounded.onChange(ChangeEvent.batchCreated(CollectionVersions.Kind.EQUIPMENT, items));
+        assertEquals(1, bounded.getSubscriberCount());
+        pending.forEach(Runnable::run);
+
+        assertEquals(1, emitter.frames.size());
+        String frame = emitter.frames.get(0);
+        assertTrue(frame.contains("\"type\":\"BATCH_CREATED\""));
+        assertTrue(frame.contains("\"serialNumber\":\"SN99\""));
+    }
+}
@@ -1,13 +1,17 @@
 package com.equipment.tracker.controller;
 import com.equipment.tracker.entity.EquipmentCondition;
 import com.equipment.tracker.exception.NotFoundException;
+import com.equipment.tracker.service.CollectionVersions;
 import com.equipment.tracker.service.EquipmentConditionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -19,6 +23,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EquipmentConditionController.class)
+@Import({SerializedResponseCache.class, CollectionVersions.class})
 class EquipmentConditionControllerTest {
 
     @Autowired
@@ -30,6 +35,14 @@ class EquipmentConditionControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CollectionVersions versions;
+
+    @BeforeEach
+    void invalidateResponseCache() {
+        versions.bump(CollectionVersions.Kind.values());
+    }
+
     @Test
     void createCondition_Success() throws Exception {
         EquipmentCondition condition = new EquipmentCondition();
@@ -105,4 +118,20 @@ class EquipmentConditionControllerTest {
         mockMvc.perform(delete("/api/conditions/1"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void getAllConditions_RepeatedRequestWithETag_ReturnsNotModified() throws Exception {
+        when(conditionService.getAllConditions(any(Sort.class))).thenReturn(List.of());
+
+        String etag = mockMvc.perform(get("/api/conditions"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/conditions").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/conditions?sortDir=DESC").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(conditionService, times(2)).getAllConditions(any(Sort.class));
+    }
 }
@@ -1,27 +1,46 @@
 package com.equipment.tracker.controller;
+import com.equipment.tracker.dto.BatchItemResult;
+import com.equipment.tracker.dto.CursorPage;
+import com.equipment.tracker.dto.EquipmentSearchCriteria;
 import com.equipment.tracker.entity.Category;
 import com.equipment.tracker.entity.EquipmentCondition;
 import com.equipment.tracker.entity.SportsEquipment;
 import com.equipment.tracker.exception.NotFoundException;
+import com.equipment.tracker.exception.PreconditionFailedException;
+import com.equipment.tracker.service.CollectionVersions;
 import com.equipment.tracker.service.SportsEquipmentService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(SportsEquipmentController.class)
+@Import({SerializedResponseCache.class, CollectionVersions.class})
 class SportsEquipmentControllerTest {
 
     @Autowired
@@ -33,8 +52,17 @@ class SportsEquipmentControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CollectionVersions versions;
+
+    @BeforeEach
+    void invalidateResponseCache() {
+        versions.bump(CollectionVersions.Kind.values());
+    }
+
     private SportsEquipment createEquipment() {
         SportsEquipment e = new SportsEquipment();
+        ReflectionTestUtils.setField(e, "equipmentId", UUID.randomUUID());
         e.setSerialNumber("SN123");
         e.setEquipmentName("Мяч");
 
@@ -51,6 +79,12 @@ class SportsEquipmentControllerTest {
         return e;
     }
 
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
     @Test
     void createEquipment_Success() throws Exception {
         SportsEquipment equipment = createEquipment();
@@ -64,6 +98,45 @@ class SportsEquipmentControllerTest {
                 .andExpect(jsonPath("$.equipmentName").value("Мяч"));
     }
 
+    @Test
+    void createEquipment_IgnoresClientSuppliedIdVersionAndTimestamps() throws Exception {
+        SportsEquipment existing = createEquipment();
+        when(equipmentService.createEquipment(any(), anyInt(), anyInt())).thenReturn(existing);
+        when(equipmentService.createEquipmentBatch(anyList())).thenReturn(List.of(BatchItemResult.created(0, existing)));
+        Map<String, Object> body = Map.of(
+                "equipmentId", existing.getEquipmentId(),
+                "version", 3,
+                "createdAt", "2020-01-01T00:00:00",
+                "updatedAt", "2020-01-01T00:00:00",
+                "serialNumber", "SN123",
+                "equipmentName", "Мяч",
+                "category", Map.of("categoryId", 1),
+                "condition", Map.of("conditionId", 1));
+
+        mockMvc.perform(post("/api/equipment")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/equipment/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(body))))
+                .andExpect(status().isCreated());
+
+        ArgumentCaptor<SportsEquipment> created = ArgumentCaptor.forClass(SportsEquipment.class);
+        verify(equipmentService).createEquipment(created.capture(), eq(1), eq(1));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SportsEquipment>> batch = ArgumentCaptor.forClass(List.class);
+        verify(equipmentService).createEquipmentBatch(batch.capture());
+        for (SportsEquipment received : List.of(created.getValue(), batch.getValue().get(0))) {
+            assertNull(received.getEquipmentId());
+            assertNull(received.getVersion());
+            assertNull(received.getCreatedAt());
+            assertNull(received.getUpdatedAt());
+            assertTrue(received.isNew());
+            assertEquals("SN123", received.getSerialNumber());
+        }
+    }
+
     @Test
     void createEquipment_BadRequest_MissingCategoryOrCondition() throws Exception {
         SportsEquipment equipment = createEquipment();
@@ -97,6 +170,19 @@ class SportsEquipmentControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getEquipmentBySerialNumber_Success() throws Exception {
+        SportsEquipment equipment = createEquipment();
+        ReflectionTestUtils.setField(equipment, "version", 2L);
+
+        when(equipmentService.getEquipmentBySerialNumber("SN123")).thenReturn(equipment);
+
+        mockMvc.perform(get("/api/equipment/serial/SN123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.equipmentId").value(equipment.getEquipmentId().toString()));
+    }
+
     @Test
     void getAllEquipment_Success() throws Exception {
         SportsEquipment e1 = createEquipment();
@@ -110,12 +196,52 @@ class SportsEquipmentControllerTest {
                 .andExpect(jsonPath("$.length()").value(2));
     }
 
+    @Test
+    void getAllEquipment_AcceptCbor_ReturnsSameFieldsAsJson() throws Exception {
+        SportsEquipment equipment = createEquipment();
+        when(equipmentService.getAllEquipment(any(Sort.class))).thenReturn(List.of(equipment));
+
+        MvcResult json = mockMvc.perform(get("/api/equipment"))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult cbor = mockMvc.perform(get("/api/equipment").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+        JsonNode decoded = cborMapper.readTree(cbor.getResponse().getContentAsByteArray()).get(0);
+        JsonNode expected = objectMapper.readTree(json.getResponse().getContentAsByteArray()).get(0);
+        assertEquals(fieldNames(expected), fieldNames(decoded));
+        assertEquals(equipment.getEquipmentId(), cborMapper.treeToValue(decoded.get("equipmentId"), UUID.class));
+        assertEquals("SN123", decoded.get("serialNumber").asText());
+        assertNotEquals(json.getResponse().getHeader(HttpHeaders.ETAG), cbor.getResponse().getHeader(HttpHeaders.ETAG));
+        verify(equipmentService, times(2)).getAllEquipment(any(Sort.class));
+    }
+
+    @Test
+    void getEquipmentById_AcceptSmile_ReturnsSmile() throws Exception {
+        SportsEquipment equipment = createEquipment();
+        when(equipmentService.getEquipmentById(equipment.getEquipmentId())).thenReturn(equipment);
+
+        byte[] body = mockMvc.perform(get("/api/equipment/{id}", equipment.getEquipmentId()).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        JsonNode decoded = smileMapper.readTree(body);
+        assertEquals(equipment.getEquipmentId(), smileMapper.treeToValue(decoded.get("equipmentId"), UUID.class));
+        assertEquals("Спорт", decoded.get("category").get("categoryName").asText());
+    }
+
     @Test
     void updateEquipment_Success() throws Exception {
         SportsEquipment equipment = createEquipment();
         UUID id = equipment.getEquipmentId();
 
-        when(equipmentService.updateEquipment(eq(id), any(), anyInt(), anyInt())).thenReturn(equipment);
+        when(equipmentService.updateEquipment(eq(id), any(), anyInt(), anyInt(), isNull())).thenReturn(equipment);
 
         mockMvc.perform(put("/api/equipment/" + id)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -124,6 +250,20 @@ class SportsEquipmentControllerTest {
                 .andExpect(jsonPath("$.serialNumber").value("SN123"));
     }
 
+    @Test
+    void updateEquipment_StaleIfMatch_Returns412() throws Exception {
+        SportsEquipment equipment = createEquipment();
+        UUID id = equipment.getEquipmentId();
+        when(equipmentService.updateEquipment(eq(id), any(), anyInt(), anyInt(), eq(1L)))
+                .thenThrow(new PreconditionFailedException("Оборудование изменено"));
+
+        mockMvc.perform(put("/api/equipment/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "W/\"1\"")
+                        .content(objectMapper.writeValueAsString(equipment)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void deleteEquipment_Success() throws Exception {
         doNothing().when(equipmentService).deleteEquipment(any());
@@ -131,4 +271,134 @@ class SportsEquipmentControllerTest {
         mockMvc.perform(delete("/api/equipment/" + UUID.randomUUID()))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void getEquipmentPage_Success() throws Exception {
+        SportsEquipment equipment = createEquipment();
+
+        when(equipmentService.getEquipmentPage("serialNumber", "ASC", null, 50))
+                .thenReturn(new CursorPage<>(List.of(equipment), "next-cursor"));
+
+        mockMvc.perform(get("/api/equipment/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.next").value("next-cursor"));
+    }
+
+    @Test
+    void getEquipmentPage_WithFields_ReturnsOnlyRequestedFields() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(equipmentService.getEquipmentFieldsPage("serialNumber,category", "serialNumber", "ASC", null, 50))
+                .thenReturn(new CursorPage<>(List.of(Map.<String, Object>of("equipmentId", id, "serialNumber", "SN123")), null));
+
+        mockMvc.perform(get("/api/equipment/page").param("fields", "serialNumber,category"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].serialNumber").value("SN123"))
+                .andExpect(jsonPath("$.items[0].description").doesNotExist());
+        verify(equipmentService, never()).getEquipmentPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getAllEquipment_WithFields_CachedSeparatelyFromFullList() throws Exception {
+        when(equipmentService.getAllEquipment(any(Sort.class))).thenReturn(List.of());
+        when(equipmentService.getAllEquipmentFields("serialNumber", "serialNumber", "ASC"))
+                .thenReturn(List.of(Map.<String, Object>of("equipmentId", UUID.randomUUID(), "serialNumber", "SN123")));
+
+        String etag = mockMvc.perform(get("/api/equipment"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/equipment").param("fields", "serialNumber").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].serialNumber").value("SN123"));
+    }
+
+    @Test
+    void createEquipmentBatch_PartialSuccess_ReturnsMultiStatus() throws Exception {
+        SportsEquipment equipment = createEquipment();
+
+        when(equipmentService.createEquipmentBatch(anyList())).thenReturn(List.of(
+                BatchItemResult.created(0, equipment),
+                BatchItemResult.rejected(1, equipment, "Серийный номер должен быть уникальным")));
+
+        mockMvc.perform(post("/api/equipment/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(equipment, equipment))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].error").value("Серийный номер должен быть уникальным"));
+    }
+
+    @Test
+    void getAllEquipment_RepeatedRequestWithETag_ReturnsNotModified() throws Exception {
+        when(equipmentService.getAllEquipment(any(Sort.class))).thenReturn(List.of());
+
+        String etag = mockMvc.perform(get("/api/equipment"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/equipment").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/equipment?sortDir=DESC").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(equipmentService, times(2)).getAllEquipment(any(Sort.class));
+    }
+
+    @Test
+    void searchEquipment_BindsFilters() throws Exception {
+        EquipmentSearchCriteria expected = new EquipmentSearchCriteria(1, 2, null, null,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), null, null, "Мяч");
+        when(equipmentService.searchEquipment(expected, "serialNumber", "ASC", null, 20))
+                .thenReturn(new CursorPage<>(List.of(createEquipment()), null));
+
+        mockMvc.perform(get("/api/equipment/search")
+                        .param("categoryId", "1")
+                        .param("conditionId", "2")
+                        .param("endOfServiceFrom", "2025-01-01")
+                        .param("endOfServiceTo", "2025-12-31")
+                        .param("namePrefix", "Мяч")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1));
+    }
+
+    @Test
+    void getEquipmentById_ReturnsVersionAsETag() throws Exception {
+        SportsEquipment equipment = createEquipment();
+        ReflectionTestUtils.setField(equipment, "version", 4L);
+        when(equipmentService.getEquipmentById(equipment.getEquipmentId())).thenReturn(equipment);
+
+        mockMvc.perform(get("/api/equipment/" + equipment.getEquipmentId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void patchEquipment_PassesIfMatchVersion() throws Exception {
+        SportsEquipment equipment = createEquipment();
+        UUID id = equipment.getEquipmentId();
+        ReflectionTestUtils.setField(equipment, "version", 3L);
+        when(equipmentService.patchEquipment(eq(id), any(), eq(2L))).thenReturn(equipment);
+
+        mockMvc.perform(patch("/api/equipment/" + id)
+                        .contentType(SportsEquipmentController.MERGE_PATCH_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .content("{\"lastCheckDate\": \"2026-03-01\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void patchEquipment_StaleVersion_Returns412() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(equipmentService.patchEquipment(eq(id), any(), eq(1L)))
+                .thenThrow(new PreconditionFailedException("Оборудование изменено"));
+
+        mockMvc.perform(patch("/api/equipment/" + id)
+                        .contentType(SportsEquipmentController.MERGE_PATCH_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .content("{\"quantity\": 2}"))
+                .andExpect(status().isPreconditionFailed());
+    }
 }
@@ -0,0 +1,180 @@
+package com.equipment.tracker.datasource;
+import com.equipment.tracker.entity.Category;
+import com.equipment.tracker.entity.EquipmentCondition;
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.service.CategoryService;
+import com.equipment.tracker.service.EquipmentConditionService;
+import com.equipment.tracker.service.SportsEquipmentService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Две независимые базы H2 изображают основную базу и реплику. Реплика получает только схему,
+ * поэтому по наличию записи видно, из какой базы её прочитали.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "equipment.datasource.replica.url=jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureMockMvc
+@Import(ReadReplicaRoutingTest.ReplicaThenCacheController.class)
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EquipmentConditionService conditionService;
+
+    @Autowired
+    private SportsEquipmentService equipmentService;
+
+    private SportsEquipment equipment;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        copySchemaToReplica();
+
+        String suffix = UUID.randomUUID().toString();
+        Category category = new Category();
+        category.setCategoryName("Категория " + suffix);
+        category = categoryService.createCategory(category);
+        EquipmentCondition condition = new EquipmentCondition();
+        condition.setConditionName("Состояние " + suffix);
+        condition = conditionService.createCondition(condition);
+
+        SportsEquipment newEquipment = new SportsEquipment();
+        newEquipment.setSerialNumber("SN-" + suffix);
+        newEquipment.setEquipmentName("Мяч");
+        newEquipment.setQuantity(1);
+        newEquipment.setEndOfServiceDate(LocalDate.of(2030, 1, 1));
+        equipment = equipmentService.createEquipment(newEquipment, category.getCategoryId(), condition.getConditionId());
+    }
+
+    @Test
+    void readOnlyRequest_IsServedByReplica() throws Exception {
+        mockMvc.perform(get("/api/equipment/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    @Test
+    void readAfterWrite_IsServedByPrimaryWhileCookieIsValid() throws Exception {
+        mockMvc.perform(get("/api/equipment/page")
+                        .cookie(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].serialNumber", hasItem(equipment.getSerialNumber())));
+    }
+
+    @Test
+    void write_GoesToPrimaryAndSetsReadYourWritesCookie() throws Exception {
+        mockMvc.perform(patch("/api/equipment/{id}", equipment.getEquipmentId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"quantity\": 7}"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().maxAge(ReadYourWritesFilter.COOKIE_NAME, 5))
+                .andExpect(jsonPath("$.quantity").value(7));
+    }
+
+    @Test
+    void referenceDataCache_IsLoadedFromPrimary() throws Exception {
+        mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isNotEmpty());
+    }
+
+    @Test
+    void lookupCache_IsLoadedFromPrimary() throws Exception {
+        mockMvc.perform(get("/api/equipment/{id}", equipment.getEquipmentId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.serialNumber").value(equipment.getSerialNumber()));
+    }
+
+    @Test
+    void lookupCache_IsLoadedFromPrimaryAfterReplicaReadInSameRequest() throws Exception {
+        mockMvc.perform(get("/test/replica-then-cache/{id}", equipment.getEquipmentId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.serialNumber").value(equipment.getSerialNumber()));
+    }
+
+    /**
+     * Читает страницу с реплики и в том же запросе заполняет кэш. Если соединение держится
+     * весь запрос (spring.jpa.open-in-view), загрузка в кэш пошла бы на уже выбранную реплику.
+     */
+    @RestController
+    static class ReplicaThenCacheController {
+
+        private final SportsEquipmentService equipmentService;
+
+        ReplicaThenCacheController(SportsEquipmentService equipmentService) {
+            this.equipmentService = equipmentService;
+        }
+
+        @GetMapping("/test/replica-then-cache/{id}")
+        SportsEquipment replicaThenCache(@PathVariable UUID id) {
+            equipmentService.getEquipmentPage("serialNumber", "asc", null, 20);
+            return equipmentService.getEquipmentById(id);
+        }
+    }
+
+    private void copySchemaToReplica() throws SQLException {
+        List<String> ddl = new ArrayList<>();
+        try (Connection connection = primaryDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet script = statement.executeQuery("SCRIPT NODATA")) {
+            while (script.next()) {
+                String sql = script.getString(1);
+                if (!sql.startsWith("--") && !sql.startsWith("CREATE USER")) {
+                    ddl.add(sql);
+                }
+            }
+        }
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : ddl) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
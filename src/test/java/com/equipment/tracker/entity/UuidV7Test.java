@@ -0,0 +1,61 @@
+package com.equipment.tracker.entity;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void next_HasVersion7AndRfcVariant() {
+        UUID uuid = UuidV7.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(Math.abs(System.currentTimeMillis() - timestamp) < 5_000);
+    }
+
+    @Test
+    void next_IsStrictlyIncreasingWithinThread() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7.next();
+            assertTrue(Long.compareUnsigned(current.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    "UUID должны строго возрастать");
+            previous = current;
+        }
+    }
+
+    @Test
+    void next_ConcurrentCreationStaysUniqueAndOrderedPerThread() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(UuidV7.next());
+                    }
+                    return ids;
+                }));
+            }
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> future : futures) {
+                List<UUID> ids = future.get(30, TimeUnit.SECONDS);
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(Long.compareUnsigned(ids.get(i).getMostSignificantBits(), ids.get(i - 1).getMostSignificantBits()) > 0);
+                }
+                all.addAll(ids);
+            }
+            assertEquals(threads * perThread, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
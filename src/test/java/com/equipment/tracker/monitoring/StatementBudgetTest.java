@@ -0,0 +1,196 @@
+package com.equipment.tracker.monitoring;
+import com.equipment.tracker.entity.Category;
+import com.equipment.tracker.entity.EquipmentCondition;
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.service.CategoryService;
+import com.equipment.tracker.service.EquipmentConditionService;
+import com.equipment.tracker.service.SportsEquipmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Бюджет SQL-запросов для основных эндпоинтов оборудования.
+ * Количество берётся из заголовка Server-Timing, справочники перед каждым тестом уже в кэше.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-budget;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "equipment.changes.settle-millis=0"
+})
+@AutoConfigureMockMvc
+class StatementBudgetTest {
+
+    private static final Pattern DB_COUNT = Pattern.compile("db-count;desc=\"(\\d+)\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EquipmentConditionService conditionService;
+
+    @Autowired
+    private SportsEquipmentService equipmentService;
+
+    private Category category;
+    private EquipmentCondition condition;
+    private SportsEquipment equipment;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        Category newCategory = new Category();
+        newCategory.setCategoryName("Категория " + suffix);
+        category = categoryService.createCategory(newCategory);
+        EquipmentCondition newCondition = new EquipmentCondition();
+        newCondition.setConditionName("Состояние " + suffix);
+        condition = conditionService.createCondition(newCondition);
+
+        categoryService.getAllCategories(Sort.unsorted());
+        conditionService.getAllConditions(Sort.unsorted());
+
+        SportsEquipment newEquipment = new SportsEquipment();
+        newEquipment.setSerialNumber("SN-" + suffix);
+        newEquipment.setEquipmentName("Мяч");
+        newEquipment.setQuantity(1);
+        newEquipment.setEndOfServiceDate(LocalDate.of(2030, 1, 1));
+        equipment = equipmentService.createEquipment(newEquipment, category.getCategoryId(), condition.getConditionId());
+    }
+
+    @Test
+    void getEquipmentById_WithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/equipment/{id}", equipment.getEquipmentId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertStatementBudget(result, 1);
+    }
+
+    @Test
+    void getEquipmentPage_WithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/equipment/page").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertStatementBudget(result, 1);
+    }
+
+    @Test
+    void getAllCategories_ServedFromCache() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertStatementBudget(result, 0);
+    }
+
+    @Test
+    void createEquipment_WithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/equipment")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(equipmentJson("SN-" + UUID.randomUUID())))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        assertStatementBudget(result, 1);
+    }
+
+    @Test
+    void createEquipment_DuplicateSerial_RejectedByConstraintInOneStatement() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/equipment")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(equipmentJson(equipment.getSerialNumber())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Серийный номер должен быть уникальным"))
+                .andReturn();
+
+        assertStatementBudget(result, 1);
+    }
+
+    @Test
+    void updateEquipment_WithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(put("/api/equipment/{id}", equipment.getEquipmentId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(equipmentJson(equipment.getSerialNumber())))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertStatementBudget(result, 2);
+    }
+
+    @Test
+    void patchEquipment_WithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(patch("/api/equipment/{id}", equipment.getEquipmentId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"lastCheckDate\": \"2026-03-01\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertStatementBudget(result, 2);
+    }
+
+    @Test
+    void deleteEquipment_WithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(delete("/api/equipment/{id}", equipment.getEquipmentId()))
+                .andExpect(status().isNoContent())
+                .andReturn();
+
+        assertStatementBudget(result, 2);
+    }
+
+    @Test
+    void getEquipmentChanges_WithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/equipment/changes").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next").isNotEmpty())
+                .andReturn();
+
+        assertStatementBudget(result, 2);
+    }
+
+    private String equipmentJson(String serialNumber) throws Exception {
+        return objectMapper.writeValueAsString(Map.of(
+                "serialNumber", serialNumber,
+                "equipmentName", "Мяч волейбольный",
+                "quantity", 3,
+                "category", Map.of("categoryId", category.getCategoryId()),
+                "condition", Map.of("conditionId", condition.getConditionId()),
+                "endOfServiceDate", "2031-01-01"));
+    }
+
+    private static void assertStatementBudget(MvcResult result, int budget) {
+        String header = result.getResponse().getHeader(ServerTimingFilter.SERVER_TIMING);
+        assertNotNull(header, "Нет заголовка Server-Timing");
+        Matcher matcher = DB_COUNT.matcher(header);
+        assertTrue(matcher.find(), header);
+        int count = Integer.parseInt(matcher.group(1));
+        assertTrue(count <= budget, "Выполнено SQL-запросов: " + count + ", бюджет: " + budget);
+    }
+}
@@ -0,0 +1,230 @@
+package com.equipment.tracker.repository;
+import com.equipment.tracker.dto.CategoryStatistics;
+import com.equipment.tracker.dto.ConditionStatistics;
+import com.equipment.tracker.dto.EquipmentSearchCriteria;
+import com.equipment.tracker.dto.ExpiryMonthStatistics;
+import com.equipment.tracker.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет, что чтение оборудования выполняется фиксированным числом SQL-запросов
+ * независимо от количества строк и числа различных категорий и состояний.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class SportsEquipmentRepositoryTest {
+
+    @Autowired
+    private SportsEquipmentRepository equipmentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Category> categories = new ArrayList<>();
+    private final List<EquipmentCondition> conditions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            Category category = new Category();
+            category.setCategoryName("Категория " + i);
+            categories.add(entityManager.persist(category));
+
+            EquipmentCondition condition = new EquipmentCondition();
+            condition.setConditionName("Состояние " + i);
+            conditions.add(entityManager.persist(condition));
+        }
+    }
+
+    private SportsEquipment seed(int rows) {
+        SportsEquipment last = null;
+        for (int i = 0; i < rows; i++) {
+            SportsEquipment e = new SportsEquipment();
+            e.setSerialNumber("SN" + i);
+            e.setEquipmentName("Мяч " + i);
+            e.setQuantity(i);
+            e.setEndOfServiceDate(LocalDate.now().plusDays(i));
+            e.setCategory(categories.get(i % categories.size()));
+            e.setCondition(conditions.get(i % conditions.size()));
+            last = entityManager.persist(e);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return last;
+    }
+
+    private long statementsFor(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void findAll_UsesSingleStatementRegardlessOfRowCount() {
+        seed(50);
+
+        long statements = statementsFor(() -> assertEquals(50, equipmentRepository.findAll(Sort.by("serialNumber")).size()));
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void findByCategoryAndCondition_UseSingleStatement() {
+        seed(25);
+        Integer categoryId = categories.get(0).getCategoryId();
+        Integer conditionId = conditions.get(0).getConditionId();
+
+        assertEquals(1, statementsFor(() -> equipmentRepository.findByCategory_CategoryId(categoryId)));
+        entityManager.clear();
+        assertEquals(1, statementsFor(() -> equipmentRepository.findByCondition_ConditionId(conditionId)));
+    }
+
+    @Test
+    void persist_AssignsTimeOrderedIdOnInsertOnly() {
+        SportsEquipment equipment = new SportsEquipment();
+        equipment.setSerialNumber("SN-NEW");
+        equipment.setEquipmentName("Мяч");
+        equipment.setQuantity(1);
+        equipment.setEndOfServiceDate(LocalDate.now().plusDays(1));
+        equipment.setCategory(categories.get(0));
+        equipment.setCondition(conditions.get(0));
+        assertNull(equipment.getEquipmentId());
+        assertTrue(equipment.isNew());
+
+        equipmentRepository.saveAndFlush(equipment);
+        UUID id = equipment.getEquipmentId();
+        entityManager.clear();
+
+        assertEquals(7, id.version());
+        assertFalse(equipment.isNew());
+        assertEquals(id, equipmentRepository.findById(id).orElseThrow().getEquipmentId());
+    }
+
+    @Test
+    void findByIdAndSerialNumber_UseSingleStatement() {
+        SportsEquipment last = seed(3);
+
+        assertEquals(1, statementsFor(() -> assertTrue(equipmentRepository.findById(last.getEquipmentId()).isPresent())));
+        entityManager.clear();
+        assertEquals(1, statementsFor(() -> assertNotNull(equipmentRepository.findBySerialNumber(last.getSerialNumber()))));
+    }
+
+    @Test
+    void findPage_UsesSingleStatementAndSeeksPastCursor() {
+        seed(30);
+
+        List<SportsEquipment> firstPage = new ArrayList<>();
+        long statements = statementsFor(() -> firstPage.addAll(
+                equipmentRepository.findPage(null, EquipmentSortKey.QUANTITY, Sort.Direction.ASC, null, 10)));
+        SportsEquipment last = firstPage.get(9);
+        EquipmentCursor cursor = new EquipmentCursor(EquipmentSortKey.QUANTITY, Sort.Direction.ASC, last.getQuantity(), last.getEquipmentId());
+        List<SportsEquipment> secondPage = equipmentRepository.findPage(null, EquipmentSortKey.QUANTITY, Sort.Direction.ASC, cursor, 10);
+
+        assertEquals(1, statements);
+        assertEquals(10, secondPage.size());
+        assertEquals(10, secondPage.get(0).getQuantity());
+    }
+
+    @Test
+    void findPage_AppliesSearchSpecification() {
+        seed(30);
+        Integer categoryId = categories.get(1).getCategoryId();
+        EquipmentSearchCriteria criteria = new EquipmentSearchCriteria(categoryId, null, 5, 20, null, null, null, null, "МЯЧ 1");
+
+        List<SportsEquipment> found = equipmentRepository.findPage(EquipmentSpecifications.matching(criteria),
+                EquipmentSortKey.QUANTITY, Sort.Direction.ASC, null, 10);
+
+        assertEquals(List.of(11, 16), found.stream().map(SportsEquipment::getQuantity).toList());
+    }
+
+    @Test
+    void findFields_ReadsOnlyRequestedColumnsInSingleStatement() {
+        seed(30);
+        Set<EquipmentField> fields = EquipmentField.parse("serialNumber,category,quantity");
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long statements = statementsFor(() -> rows.addAll(
+                equipmentRepository.findFields(null, fields, EquipmentSortKey.QUANTITY, Sort.Direction.DESC, null, 5)));
+
+        assertEquals(1, statements);
+        assertEquals(5, rows.size());
+        Map<String, Object> first = rows.get(0);
+        assertEquals(List.of("equipmentId", "serialNumber", "category", "quantity"), new ArrayList<>(first.keySet()));
+        assertEquals("SN29", first.get("serialNumber"));
+        assertEquals(29, first.get("quantity"));
+        assertEquals(Map.of("categoryId", categories.get(4).getCategoryId(), "categoryName", "Категория 4"), first.get("category"));
+    }
+
+    @Test
+    void findFields_AppliesSpecificationAndCursorWithoutLimit() {
+        seed(30);
+        Integer categoryId = categories.get(1).getCategoryId();
+        EquipmentSearchCriteria criteria = new EquipmentSearchCriteria(categoryId, null, null, null, null, null, null, null, null);
+        EquipmentCursor cursor = new EquipmentCursor(EquipmentSortKey.SERIAL_NUMBER, Sort.Direction.ASC, "SN17", UUID.randomUUID());
+
+        List<Map<String, Object>> rows = equipmentRepository.findFields(EquipmentSpecifications.matching(criteria),
+                EquipmentField.parse("serialNumber"), EquipmentSortKey.SERIAL_NUMBER, Sort.Direction.ASC, cursor, 0);
+
+        assertEquals(List.of("SN21", "SN26", "SN6"), rows.stream().map(row -> row.get("serialNumber")).toList());
+    }
+
+    @Test
+    void findChangedAfter_UsesSingleStatementAndSeeksPastPosition() {
+        seed(20);
+        LocalDateTime until = LocalDateTime.now().plusMinutes(1);
+        EquipmentChangeToken start = EquipmentChangeToken.START;
+
+        List<SportsEquipment> firstPage = new ArrayList<>();
+        long statements = statementsFor(() -> firstPage.addAll(
+                equipmentRepository.findChangedAfter(start.timestamp(), start.equipmentId(), until, Limit.of(15))));
+        SportsEquipment last = firstPage.get(14);
+        List<SportsEquipment> rest = equipmentRepository.findChangedAfter(last.getUpdatedAt(), last.getEquipmentId(), until, Limit.of(15));
+
+        assertEquals(1, statements);
+        assertEquals(5, rest.size());
+        Set<UUID> ids = new HashSet<>();
+        firstPage.forEach(e -> ids.add(e.getEquipmentId()));
+        rest.forEach(e -> ids.add(e.getEquipmentId()));
+        assertEquals(20, ids.size());
+        assertTrue(equipmentRepository.findChangedAfter(start.timestamp(), start.equipmentId(),
+                firstPage.get(0).getUpdatedAt().minusNanos(1000), Limit.of(15)).isEmpty());
+    }
+
+    @Test
+    void statistics_AreAggregatedInDatabase() {
+        seed(10);
+        LocalDate today = LocalDate.now();
+
+        List<CategoryStatistics> byCategory = equipmentRepository.countByCategory();
+        List<ConditionStatistics> byCondition = equipmentRepository.countByCondition();
+        List<ExpiryMonthStatistics> byMonth = equipmentRepository.countExpiringByMonth(today, today.plusDays(10));
+
+        assertEquals(5, byCategory.size());
+        assertEquals(45L, byCategory.stream().mapToLong(CategoryStatistics::totalQuantity).sum());
+        assertEquals(10L, byCondition.stream().mapToLong(ConditionStatistics::itemCount).sum());
+        assertEquals(10L, byMonth.stream().mapToLong(ExpiryMonthStatistics::itemCount).sum());
+        assertEquals(today.getMonthValue(), byMonth.get(0).month());
+    }
+}
@@ -7,6 +7,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 
 import java.util.*;
 
@@ -19,6 +22,12 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CollectionVersions versions;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -28,8 +37,7 @@ class CategoryServiceTest {
         category.setCategoryName("Спорт");
         category.setDescription("Описание");
 
-        when(categoryRepository.existsByCategoryName("Спорт")).thenReturn(false);
-        when(categoryRepository.save(category)).thenAnswer(i -> {
+        when(categoryRepository.saveAndFlush(category)).thenAnswer(i -> {
             Category c = i.getArgument(0);
             c.setCategoryId(1);
             return c;
@@ -40,19 +48,21 @@ class CategoryServiceTest {
         assertNotNull(created);
         assertEquals(1, created.getCategoryId());
         assertEquals("Спорт", created.getCategoryName());
-        verify(categoryRepository).save(category);
+        verify(categoryRepository).saveAndFlush(category);
     }
 
     @Test
-    void createCategory_DuplicateName_ThrowsBadRequest() {
+    void createCategory_DuplicateName_PropagatesConstraintViolation() {
         Category category = new Category();
         category.setCategoryName("Спорт");
 
-        when(categoryRepository.existsByCategoryName("Спорт")).thenReturn(true);
+        when(categoryRepository.saveAndFlush(category))
+                .thenThrow(new DataIntegrityViolationException("uk_category_name"));
 
-        BadRequestException ex = assertThrows(BadRequestException.class,
+        assertThrows(DataIntegrityViolationException.class,
                 () -> categoryService.createCategory(category));
-        assertEquals("Категория должна быть уникальной", ex.getMessage());
+        verify(versions, never()).bump(any());
+        verify(events, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -61,7 +71,7 @@ class CategoryServiceTest {
         category.setCategoryId(1);
         category.setCategoryName("Спорт");
 
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(category));
+        when(categoryRepository.findAll()).thenReturn(List.of(category));
 
         Category found = categoryService.getCategoryById(1);
 
@@ -70,7 +80,7 @@ class CategoryServiceTest {
 
     @Test
     void getCategoryById_NotFound_ThrowsNotFound() {
-        when(categoryRepository.findById(1)).thenReturn(Optional.empty());
+        when(categoryRepository.findAll()).thenReturn(List.of());
 
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> categoryService.getCategoryById(1));
@@ -79,56 +89,98 @@ class CategoryServiceTest {
 
     @Test
     void updateCategory_Success() {
-        Category existing = new Category();
-        existing.setCategoryId(1);
-        existing.setCategoryName("Спорт");
-
         Category updated = new Category();
         updated.setCategoryName("Новый спорт");
         updated.setDescription("Новое описание");
 
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(existing));
-        when(categoryRepository.existsByCategoryName("Новый спорт")).thenReturn(false);
-        when(categoryRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(categoryRepository.updateCategory(1, "Новый спорт", "Новое описание")).thenReturn(1);
 
         Category result = categoryService.updateCategory(1, updated);
 
+        assertEquals(1, result.getCategoryId());
         assertEquals("Новый спорт", result.getCategoryName());
         assertEquals("Новое описание", result.getDescription());
+        verify(categoryRepository, never()).findById(any());
+        verify(events).publishEvent(ChangeEvent.updated(CollectionVersions.Kind.CATEGORIES, 1, result));
     }
 
     @Test
-    void updateCategory_DuplicateName_ThrowsBadRequest() {
-        Category existing = new Category();
-        existing.setCategoryId(1);
-        existing.setCategoryName("Спорт");
-
+    void updateCategory_NotFound_ThrowsNotFound() {
         Category updated = new Category();
         updated.setCategoryName("Другой спорт");
 
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(existing));
-        when(categoryRepository.existsByCategoryName("Другой спорт")).thenReturn(true);
+        when(categoryRepository.updateCategory(1, "Другой спорт", null)).thenReturn(0);
 
-        BadRequestException ex = assertThrows(BadRequestException.class,
+        NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> categoryService.updateCategory(1, updated));
-        assertEquals("Категория должна быть уникальной", ex.getMessage());
+        assertTrue(ex.getMessage().contains("Не найдена категория"));
+        verify(versions, never()).bump(any());
     }
 
     @Test
     void deleteCategory_Success() {
-        when(categoryRepository.existsById(1)).thenReturn(true);
-        doNothing().when(categoryRepository).deleteById(1);
+        when(categoryRepository.deleteByCategoryId(1)).thenReturn(1);
 
         assertDoesNotThrow(() -> categoryService.deleteCategory(1));
-        verify(categoryRepository).deleteById(1);
+        verify(categoryRepository, never()).existsById(any());
     }
 
     @Test
     void deleteCategory_NotFound_ThrowsNotFound() {
-        when(categoryRepository.existsById(1)).thenReturn(false);
+        when(categoryRepository.deleteByCategoryId(1)).thenReturn(0);
 
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> categoryService.deleteCategory(1));
         assertTrue(ex.getMessage().contains("Не найдена категория"));
     }
+
+    @Test
+    void getAllCategories_ServedFromCacheAndSortedInMemory() {
+        Category first = new Category();
+        first.setCategoryId(1);
+        first.setCategoryName("Спорт");
+        Category second = new Category();
+        second.setCategoryId(2);
+        second.setCategoryName("Туризм");
+
+        when(categoryRepository.findAll()).thenReturn(List.of(first, second));
+
+        List<Category> desc = categoryService.getAllCategories(Sort.by(Sort.Direction.DESC, "categoryName"));
+        Category byId = categoryService.getCategoryById(2);
+
+        assertEquals("Туризм", desc.get(0).getCategoryName());
+        assertSame(second, byId);
+        verify(categoryRepository, times(1)).findAll();
+        verify(categoryRepository, never()).findById(any());
+    }
+
+    @Test
+    void createCategory_InvalidatesCache() {
+        Category existing = new Category();
+        existing.setCategoryId(1);
+        existing.setCategoryName("Спорт");
+        Category created = new Category();
+        created.setCategoryName("Туризм");
+
+        when(categoryRepository.findAll()).thenReturn(List.of(existing), List.of(existing, created));
+        when(categoryRepository.saveAndFlush(created)).thenAnswer(i -> {
+            Category c = i.getArgument(0);
+            c.setCategoryId(2);
+            return c;
+        });
+
+        assertEquals(1, categoryService.getAllCategories(Sort.unsorted()).size());
+        categoryService.createCategory(created);
+
+        assertEquals(2, categoryService.getAllCategories(Sort.unsorted()).size());
+        verify(categoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void getAllCategories_UnknownSortProperty_ThrowsBadRequest() {
+        when(categoryRepository.findAll()).thenReturn(List.of());
+
+        assertThrows(BadRequestException.class,
+                () -> categoryService.getAllCategories(Sort.by("unknown")));
+    }
 }
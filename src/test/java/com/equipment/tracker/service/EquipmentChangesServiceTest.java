@@ -0,0 +1,141 @@
+package com.equipment.tracker.service;
+import com.equipment.tracker.dto.EquipmentChanges;
+import com.equipment.tracker.entity.EquipmentTombstone;
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.exception.BadRequestException;
+import com.equipment.tracker.exception.GoneException;
+import com.equipment.tracker.repository.EquipmentChangeToken;
+import com.equipment.tracker.repository.EquipmentTombstoneRepository;
+import com.equipment.tracker.repository.SportsEquipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EquipmentChangesServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+    private static final LocalDateTime UNTIL = NOW.minusSeconds(5);
+
+    @Mock
+    private SportsEquipmentRepository equipmentRepository;
+
+    @Mock
+    private EquipmentTombstoneRepository tombstoneRepository;
+
+    private EquipmentChangesService changesService;
+
+    @BeforeEach
+    void setUp() {
+        changesService = new EquipmentChangesService(equipmentRepository, tombstoneRepository, 5000, 30);
+    }
+
+    private static SportsEquipment changed(LocalDateTime updatedAt) {
+        SportsEquipment equipment = new SportsEquipment();
+        ReflectionTestUtils.setField(equipment, "equipmentId", UUID.randomUUID());
+        ReflectionTestUtils.setField(equipment, "updatedAt", updatedAt);
+        return equipment;
+    }
+
+    @Test
+    void getChanges_MergesUpdatesAndDeletesInOrder() {
+        SportsEquipment first = changed(NOW.minusMinutes(3));
+        SportsEquipment third = changed(NOW.minusMinutes(1));
+        EquipmentTombstone second = new EquipmentTombstone(UUID.randomUUID(), NOW.minusMinutes(2));
+        when(equipmentRepository.findChangedAfter(any(), any(), eq(UNTIL), any())).thenReturn(List.of(first, third));
+        when(tombstoneRepository.findDeletedAfter(any(), any(), eq(UNTIL), any())).thenReturn(List.of(second));
+
+        EquipmentChanges changes = changesService.getChanges(null, 10, NOW);
+
+        assertEquals(List.of(first, third), changes.updated());
+        assertEquals(List.of(second.getEquipmentId()), changes.deleted());
+        assertFalse(changes.hasMore());
+        assertEquals(new EquipmentChangeToken(UNTIL, EquipmentChangeToken.MAX_ID, false), EquipmentChangeToken.decode(changes.next()));
+        verify(equipmentRepository).findChangedAfter(eq(EquipmentChangeToken.START.timestamp()), eq(EquipmentChangeToken.START.equipmentId()), eq(UNTIL),
+                argThat(limit -> limit.max() == 11));
+    }
+
+    @Test
+    void getChanges_StopsAtLimitAndReturnsPositionOfLastChange() {
+        SportsEquipment first = changed(NOW.minusMinutes(3));
+        SportsEquipment second = changed(NOW.minusMinutes(2));
+        EquipmentTombstone third = new EquipmentTombstone(UUID.randomUUID(), NOW.minusMinutes(1));
+        when(equipmentRepository.findChangedAfter(any(), any(), any(), any())).thenReturn(List.of(first, second));
+        when(tombstoneRepository.findDeletedAfter(any(), any(), any(), any())).thenReturn(List.of(third));
+
+        EquipmentChanges changes = changesService.getChanges(null, 2, NOW);
+
+        assertEquals(List.of(first, second), changes.updated());
+        assertTrue(changes.deleted().isEmpty());
+        assertTrue(changes.hasMore());
+        assertEquals(new EquipmentChangeToken(second.getUpdatedAt(), second.getEquipmentId(), true), EquipmentChangeToken.decode(changes.next()));
+    }
+
+    @Test
+    void getChanges_OrdersEqualTimestampsByUnsignedId() {
+        LocalDateTime timestamp = NOW.minusMinutes(1);
+        SportsEquipment updated = changed(timestamp);
+        ReflectionTestUtils.setField(updated, "equipmentId", new UUID(0x7000000000000000L, 0));
+        EquipmentTombstone deleted = new EquipmentTombstone(new UUID(0x8000000000000000L, 0), timestamp);
+        when(equipmentRepository.findChangedAfter(any(), any(), any(), any())).thenReturn(List.of(updated));
+        when(tombstoneRepository.findDeletedAfter(any(), any(), any(), any())).thenReturn(List.of(deleted));
+
+        EquipmentChanges changes = changesService.getChanges(null, 1, NOW);
+
+        assertEquals(List.of(updated), changes.updated());
+        assertTrue(changes.hasMore());
+    }
+
+    @Test
+    void getChanges_StaleToken_ThrowsGone() {
+        String stale = new EquipmentChangeToken(NOW.minusDays(31), UUID.randomUUID(), false).encode();
+
+        assertThrows(GoneException.class, () -> changesService.getChanges(stale, 10, NOW));
+        verifyNoInteractions(equipmentRepository, tombstoneRepository);
+    }
+
+    @Test
+    void getChanges_OldPositionOfInitialLoad_IsAccepted() {
+        String initial = new EquipmentChangeToken(NOW.minusDays(400), UUID.randomUUID(), true).encode();
+
+        EquipmentChanges changes = changesService.getChanges(initial, 10, NOW);
+
+        assertTrue(changes.updated().isEmpty());
+        assertFalse(changes.hasMore());
+    }
+
+    @Test
+    void getChanges_PositionInsideSettleWindow_SkipsQueries() {
+        String recent = new EquipmentChangeToken(NOW.minusSeconds(1), UUID.randomUUID(), false).encode();
+
+        EquipmentChanges changes = changesService.getChanges(recent, 10, NOW);
+
+        assertEquals(recent, changes.next());
+        assertFalse(changes.hasMore());
+        verifyNoInteractions(equipmentRepository, tombstoneRepository);
+    }
+
+    @Test
+    void getChanges_InvalidArguments_ThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> changesService.getChanges(null, 0, NOW));
+        assertThrows(BadRequestException.class, () -> changesService.getChanges(null, 501, NOW));
+        assertThrows(BadRequestException.class, () -> changesService.getChanges("не токен", 10, NOW));
+    }
+
+    @Test
+    void purgeTombstones_DeletesOlderThanRetention() {
+        when(tombstoneRepository.deleteOlderThan(NOW.minusDays(30))).thenReturn(3);
+
+        assertEquals(3, changesService.purgeTombstones(NOW));
+    }
+}
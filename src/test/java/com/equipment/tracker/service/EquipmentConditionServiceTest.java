@@ -7,6 +7,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 
 import java.util.*;
 
@@ -19,6 +22,12 @@ class EquipmentConditionServiceTest {
     @Mock
     private EquipmentConditionRepository conditionRepository;
 
+    @Mock
+    private CollectionVersions versions;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     @InjectMocks
     private EquipmentConditionService conditionService;
 
@@ -27,8 +36,7 @@ class EquipmentConditionServiceTest {
         EquipmentCondition condition = new EquipmentCondition();
         condition.setConditionName("Новое состояние");
 
-        when(conditionRepository.existsByConditionName("Новое состояние")).thenReturn(false);
-        when(conditionRepository.save(condition)).thenAnswer(i -> {
+        when(conditionRepository.saveAndFlush(condition)).thenAnswer(i -> {
             EquipmentCondition c = i.getArgument(0);
             c.setConditionId(1);
             return c;
@@ -42,15 +50,16 @@ class EquipmentConditionServiceTest {
     }
 
     @Test
-    void createCondition_DuplicateName_ThrowsBadRequest() {
+    void createCondition_DuplicateName_PropagatesConstraintViolation() {
         EquipmentCondition condition = new EquipmentCondition();
         condition.setConditionName("Новое состояние");
 
-        when(conditionRepository.existsByConditionName("Новое состояние")).thenReturn(true);
+        when(conditionRepository.saveAndFlush(condition))
+                .thenThrow(new DataIntegrityViolationException("uk_equipment_condition_name"));
 
-        BadRequestException ex = assertThrows(BadRequestException.class,
+        assertThrows(DataIntegrityViolationException.class,
                 () -> conditionService.createCondition(condition));
-        assertEquals("Состояние должно быть уникальным", ex.getMessage());
+        verify(versions, never()).bump(any());
     }
 
     @Test
@@ -59,7 +68,7 @@ class EquipmentConditionServiceTest {
         condition.setConditionId(1);
         condition.setConditionName("Исправно");
 
-        when(conditionRepository.findById(1)).thenReturn(Optional.of(condition));
+        when(conditionRepository.findAll()).thenReturn(List.of(condition));
 
         EquipmentCondition found = conditionService.getConditionById(1);
 
@@ -68,7 +77,7 @@ class EquipmentConditionServiceTest {
 
     @Test
     void getConditionById_NotFound_ThrowsNotFound() {
-        when(conditionRepository.findById(1)).thenReturn(Optional.empty());
+        when(conditionRepository.findAll()).thenReturn(List.of());
 
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> conditionService.getConditionById(1));
@@ -77,55 +86,96 @@ class EquipmentConditionServiceTest {
 
     @Test
     void updateCondition_Success() {
-        EquipmentCondition existing = new EquipmentCondition();
-        existing.setConditionId(1);
-        existing.setConditionName("Исправно");
-
         EquipmentCondition updated = new EquipmentCondition();
         updated.setConditionName("Плохо");
 
-        when(conditionRepository.findById(1)).thenReturn(Optional.of(existing));
-        when(conditionRepository.existsByConditionName("Плохо")).thenReturn(false);
-        when(conditionRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(conditionRepository.updateConditionName(1, "Плохо")).thenReturn(1);
 
         EquipmentCondition result = conditionService.updateCondition(1, updated);
 
+        assertEquals(1, result.getConditionId());
         assertEquals("Плохо", result.getConditionName());
+        verify(conditionRepository, never()).findById(any());
     }
 
     @Test
-    void updateCondition_DuplicateName_ThrowsBadRequest() {
-        EquipmentCondition existing = new EquipmentCondition();
-        existing.setConditionId(1);
-        existing.setConditionName("Исправно");
-
+    void updateCondition_NotFound_ThrowsNotFound() {
         EquipmentCondition updated = new EquipmentCondition();
         updated.setConditionName("Плохо");
 
-        when(conditionRepository.findById(1)).thenReturn(Optional.of(existing));
-        when(conditionRepository.existsByConditionName("Плохо")).thenReturn(true);
+        when(conditionRepository.updateConditionName(1, "Плохо")).thenReturn(0);
 
-        BadRequestException ex = assertThrows(BadRequestException.class,
+        NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> conditionService.updateCondition(1, updated));
-        assertEquals("Состояние должно быть уникальным", ex.getMessage());
+        assertTrue(ex.getMessage().contains("Не найдено состояние"));
+        verify(versions, never()).bump(any());
     }
 
     @Test
     void deleteCondition_Success() {
-        when(conditionRepository.existsById(1)).thenReturn(true);
-        doNothing().when(conditionRepository).deleteById(1);
+        when(conditionRepository.deleteByConditionId(1)).thenReturn(1);
 
         assertDoesNotThrow(() -> conditionService.deleteCondition(1));
-        verify(conditionRepository).deleteById(1);
+        verify(conditionRepository, never()).existsById(any());
+        verify(events).publishEvent(ChangeEvent.deleted(CollectionVersions.Kind.CONDITIONS, 1));
     }
 
     @Test
     void deleteCondition_NotFound_ThrowsNotFound() {
-        when(conditionRepository.existsById(1)).thenReturn(false);
+        when(conditionRepository.deleteByConditionId(1)).thenReturn(0);
 
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> conditionService.deleteCondition(1));
         assertTrue(ex.getMessage().contains("Не найдено состояние"));
     }
-}
 
+    @Test
+    void getAllConditions_ServedFromCacheAndSortedInMemory() {
+        EquipmentCondition first = new EquipmentCondition();
+        first.setConditionId(1);
+        first.setConditionName("Исправно");
+        EquipmentCondition second = new EquipmentCondition();
+        second.setConditionId(2);
+        second.setConditionName("Сломано");
+
+        when(conditionRepository.findAll()).thenReturn(List.of(first, second));
+
+        List<EquipmentCondition> desc = conditionService.getAllConditions(Sort.by(Sort.Direction.DESC, "conditionName"));
+        EquipmentCondition byId = conditionService.getConditionById(2);
+
+        assertEquals("Сломано", desc.get(0).getConditionName());
+        assertSame(second, byId);
+        verify(conditionRepository, times(1)).findAll();
+        verify(conditionRepository, never()).findById(any());
+    }
+
+    @Test
+    void createCondition_InvalidatesCache() {
+        EquipmentCondition existing = new EquipmentCondition();
+        existing.setConditionId(1);
+        existing.setConditionName("Исправно");
+        EquipmentCondition created = new EquipmentCondition();
+        created.setConditionName("Сломано");
+
+        when(conditionRepository.findAll()).thenReturn(List.of(existing), List.of(existing, created));
+        when(conditionRepository.saveAndFlush(created)).thenAnswer(i -> {
+            EquipmentCondition c = i.getArgument(0);
+            c.setConditionId(2);
+            return c;
+        });
+
+        assertEquals(1, conditionService.getAllConditions(Sort.unsorted()).size());
+        conditionService.createCondition(created);
+
+        assertEquals(2, conditionService.getAllConditions(Sort.unsorted()).size());
+        verify(conditionRepository, times(2)).findAll();
+    }
+
+    @Test
+    void getAllConditions_UnknownSortProperty_ThrowsBadRequest() {
+        when(conditionRepository.findAll()).thenReturn(List.of());
+
+        assertThrows(BadRequestException.class,
+                () -> conditionService.getAllConditions(Sort.by("unknown")));
+    }
+}
@@ -0,0 +1,95 @@
+package com.equipment.tracker.service;
+import com.equipment.tracker.entity.*;
+import com.equipment.tracker.exception.BadRequestException;
+import com.equipment.tracker.repository.SportsEquipmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EquipmentExportServiceTest {
+
+    @Mock
+    private SportsEquipmentRepository equipmentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private EquipmentExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new EquipmentExportService(equipmentRepository, entityManager, new ObjectMapper().findAndRegisterModules());
+    }
+
+    private SportsEquipment createEquipment(String serial, String description) {
+        Category category = new Category();
+        category.setCategoryId(1);
+        category.setCategoryName("Спорт");
+        EquipmentCondition condition = new EquipmentCondition();
+        condition.setConditionId(2);
+        condition.setConditionName("Исправно");
+
+        SportsEquipment e = new SportsEquipment();
+        ReflectionTestUtils.setField(e, "equipmentId", UUID.randomUUID());
+        e.setSerialNumber(serial);
+        e.setEquipmentName("Мяч");
+        e.setQuantity(3);
+        e.setEndOfServiceDate(LocalDate.of(2030, 1, 31));
+        e.setDescription(description);
+        e.setCategory(category);
+        e.setCondition(condition);
+        return e;
+    }
+
+    @Test
+    void exportEquipment_Ndjson_WritesOneLinePerItem() throws Exception {
+        SportsEquipment first = createEquipment("SN1", null);
+        SportsEquipment second = createEquipment("SN2", null);
+        when(equipmentRepository.streamAll()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportEquipment(EquipmentExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"serialNumber\":\"SN1\""));
+        assertTrue(lines[1].contains("\"serialNumber\":\"SN2\""));
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void exportEquipment_Csv_EscapesSpecialCharacters() throws Exception {
+        SportsEquipment equipment = createEquipment("SN1", "Мяч \"Про\", размер 5");
+        when(equipmentRepository.streamAll()).thenReturn(Stream.of(equipment));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportEquipment(EquipmentExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("equipmentId,serialNumber"));
+        assertEquals(equipment.getEquipmentId() + ",SN1,Мяч,1,Спорт,2,Исправно,3,,2030-01-31,,\"Мяч \"\"Про\"\", размер 5\"", lines[1]);
+    }
+
+    @Test
+    void fromString_UnknownFormat_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> EquipmentExportFormat.fromString("xml"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.equipment.tracker.service;
+import com.equipment.tracker.entity.Category;
+import com.equipment.tracker.entity.SportsEquipment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquipmentLookupCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private EquipmentLookupCache cache;
+    private SportsEquipment equipment;
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger idLoads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new EquipmentLookupCache(registry, 100, 60);
+        equipment = equipment("SN1");
+    }
+
+    private SportsEquipment equipment(String serialNumber) {
+        SportsEquipment e = new SportsEquipment();
+        ReflectionTestUtils.setField(e, "equipmentId", equipment != null ? equipment.getEquipmentId() : UUID.randomUUID());
+        e.setSerialNumber(serialNumber);
+        return e;
+    }
+
+    private SportsEquipment load(UUID id) {
+        loads.incrementAndGet();
+        return equipment;
+    }
+
+    private UUID loadId(String serialNumber) {
+        idLoads.incrementAndGet();
+        return serialNumber.equals(equipment.getSerialNumber()) ? equipment.getEquipmentId() : null;
+    }
+
+    @Test
+    void updateEvent_EvictsEquipmentForBothLookups() {
+        cache.getById(equipment.getEquipmentId(), this::load);
+        cache.getBySerialNumber("SN1", this::loadId, this::load);
+
+        cache.onChange(ChangeEvent.updated(CollectionVersions.Kind.EQUIPMENT, equipment.getEquipmentId(), equipment));
+        cache.getBySerialNumber("SN1", this::loadId, this::load);
+        cache.getById(equipment.getEquipmentId(), this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, idLoads.get());
+    }
+
+    @Test
+    void serialNumberChange_ReloadsStaleMapping() {
+        assertSame(equipment, cache.getBySerialNumber("SN1", this::loadId, this::load));
+
+        equipment = equipment("SN2");
+        cache.onChange(ChangeEvent.updated(CollectionVersions.Kind.EQUIPMENT, equipment.getEquipmentId(), equipment));
+
+        assertNull(cache.getBySerialNumber("SN1", this::loadId, this::load));
+        assertSame(equipment, cache.getBySerialNumber("SN2", this::loadId, this::load));
+        assertEquals(3, idLoads.get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void createEvent_KeepsCachedEntries() {
+        cache.getById(equipment.getEquipmentId(), this::load);
+
+        cache.onChange(ChangeEvent.created(CollectionVersions.Kind.EQUIPMENT, equipment.getEquipmentId(), equipment));
+        cache.onChange(ChangeEvent.batchCreated(CollectionVersions.Kind.EQUIPMENT, List.of(equipment)));
+        cache.getById(equipment.getEquipmentId(), this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void referenceRename_ClearsCache() {
+        cache.getById(equipment.getEquipmentId(), this::load);
+        Category category = new Category();
+        category.setCategoryId(1);
+
+        cache.onChange(ChangeEvent.updated(CollectionVersions.Kind.CATEGORIES, 1, category));
+        cache.getById(equipment.getEquipmentId(), this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void missingEquipment_IsNotCached() {
+        assertNull(cache.getById(equipment.getEquipmentId(), key -> null));
+        assertSame(equipment, cache.getById(equipment.getEquipmentId(), this::load));
+        assertNull(cache.getBySerialNumber("SN1", key -> null, this::load));
+        assertSame(equipment, cache.getBySerialNumber("SN1", this::loadId, this::load));
+    }
+
+    @Test
+    void hitsAndMisses_ArePublishedAsMetrics() {
+        cache.getById(equipment.getEquipmentId(), this::load);
+        cache.getById(equipment.getEquipmentId(), this::load);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "equipment.by-id").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "equipment.by-id").tag("result", "miss").functionCounter().count());
+    }
+}
@@ -0,0 +1,81 @@
+package com.equipment.tracker.service;
+import com.equipment.tracker.entity.SportsEquipment;
+import com.equipment.tracker.repository.SportsEquipmentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiryReportJobTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Mock
+    private SportsEquipmentRepository equipmentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ExpiryReportJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new ExpiryReportJob(equipmentRepository, entityManager, 30, 365);
+    }
+
+    private SportsEquipment createEquipment(LocalDate endOfService, LocalDate lastCheck) {
+        SportsEquipment e = new SportsEquipment();
+        e.setSerialNumber("SN123");
+        e.setEquipmentName("Мяч");
+        e.setEndOfServiceDate(endOfService);
+        e.setLastCheckDate(lastCheck);
+        return e;
+    }
+
+    @Test
+    void firstRun_ScansWholeWindow() {
+        when(equipmentRepository.streamByEndOfServiceBetween(TODAY, TODAY.plusDays(30)))
+                .thenReturn(Stream.of(createEquipment(TODAY.plusDays(3), null)));
+        when(equipmentRepository.streamByLastCheckUpTo(TODAY.minusDays(365)))
+                .thenReturn(Stream.of(createEquipment(TODAY, TODAY.minusYears(2)), createEquipment(TODAY, TODAY.minusDays(400))));
+
+        ExpiryReportJob.Result result = job.runFor(TODAY);
+
+        assertEquals(1, result.expiring());
+        assertEquals(2, result.checkOverdue());
+    }
+
+    @Test
+    void nextRun_ScansOnlyNewDates() {
+        when(equipmentRepository.streamByEndOfServiceBetween(any(), any())).thenReturn(Stream.empty(), Stream.empty());
+        when(equipmentRepository.streamByLastCheckUpTo(any())).thenReturn(Stream.empty());
+        when(equipmentRepository.streamByLastCheckBetween(any(), any())).thenReturn(Stream.empty());
+
+        job.runFor(TODAY);
+        job.runFor(TODAY.plusDays(2));
+
+        verify(equipmentRepository).streamByEndOfServiceBetween(TODAY.plusDays(31), TODAY.plusDays(32));
+        verify(equipmentRepository).streamByLastCheckBetween(TODAY.minusDays(364), TODAY.minusDays(363));
+    }
+
+    @Test
+    void sameDayRun_IsSkipped() {
+        when(equipmentRepository.streamByEndOfServiceBetween(any(), any())).thenReturn(Stream.empty());
+        when(equipmentRepository.streamByLastCheckUpTo(any())).thenReturn(Stream.empty());
+
+        job.runFor(TODAY);
+        ExpiryReportJob.Result result = job.runFor(TODAY);
+
+        assertEquals(new ExpiryReportJob.Result(0, 0), result);
+        verify(equipmentRepository, times(1)).streamByEndOfServiceBetween(any(), any());
+    }
+}
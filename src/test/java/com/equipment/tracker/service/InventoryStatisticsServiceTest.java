@@ -0,0 +1,56 @@
+package com.equipment.tracker.service;
+import com.equipment.tracker.dto.CategoryStatistics;
+import com.equipment.tracker.dto.InventoryStatistics;
+import com.equipment.tracker.exception.BadRequestException;
+import com.equipment.tracker.repository.SportsEquipmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryStatisticsServiceTest {
+
+    @Mock
+    private SportsEquipmentRepository equipmentRepository;
+
+    @Mock
+    private CollectionVersions versions;
+
+    @InjectMocks
+    private InventoryStatisticsService statisticsService;
+
+    @Test
+    void getStatistics_QueriesExpiryWindowFromCurrentMonth() {
+        LocalDate fromMonth = LocalDate.now().withDayOfMonth(1);
+        when(equipmentRepository.countByCategory()).thenReturn(List.of(new CategoryStatistics(1, "Спорт", 2L, 15L)));
+
+        InventoryStatistics statistics = statisticsService.getStatistics(6);
+
+        assertEquals(15L, statistics.byCategory().get(0).totalQuantity());
+        verify(equipmentRepository).countExpiringByMonth(fromMonth, fromMonth.plusMonths(6));
+    }
+
+    @Test
+    void getStatistics_CachedUntilEquipmentVersionChanges() {
+        when(versions.current(CollectionVersions.Kind.EQUIPMENT)).thenReturn(1L, 1L, 2L);
+
+        InventoryStatistics first = statisticsService.getStatistics(12);
+        InventoryStatistics cached = statisticsService.getStatistics(12);
+        statisticsService.getStatistics(12);
+
+        assertSame(first, cached);
+        verify(equipmentRepository, times(2)).countByCategory();
+    }
+
+    @Test
+    void getStatistics_InvalidMonths_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> statisticsService.getStatistics(0));
+    }
+}
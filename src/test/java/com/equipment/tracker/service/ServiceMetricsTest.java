@@ -0,0 +1,78 @@
+package com.equipment.tracker.service;
+import com.equipment.tracker.entity.Category;
+import com.equipment.tracker.exception.NotFoundException;
+import com.equipment.tracker.repository.CategoryRepository;
+import io.micrometer.core.aop.CountedAspect;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Проверяет, что методы сервисов измеряются таймером equipment.service
+ * и что исключения учитываются счётчиком equipment.service.errors.
+ */
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CollectionVersions versions;
+
+    private SimpleMeterRegistry registry;
+    private CategoryService categoryService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CategoryService(categoryRepository, versions, event -> { }));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TimedAspect(registry));
+        factory.addAspect(new CountedAspect(registry));
+        categoryService = factory.getProxy();
+    }
+
+    @Test
+    void successfulCall_RecordsTimerWithoutError() {
+        Category category = new Category();
+        category.setCategoryId(1);
+        category.setCategoryName("Спорт");
+        when(categoryRepository.findAll()).thenReturn(List.of(category));
+
+        categoryService.getCategoryById(1);
+
+        assertEquals(1, registry.get("equipment.service")
+                .tag("method", "getCategoryById")
+                .tag("exception", "none")
+                .timer().count());
+        assertNull(registry.find("equipment.service.errors").counter());
+    }
+
+    @Test
+    void failedCall_RecordsErrorCounter() {
+        when(categoryRepository.findAll()).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class, () -> categoryService.getCategoryById(99));
+
+        assertEquals(1, registry.get("equipment.service")
+                .tag("method", "getCategoryById")
+                .tag("exception", "NotFoundException")
+                .timer().count());
+        assertEquals(1, registry.get("equipment.service.errors")
+                .tag("method", "getCategoryById")
+                .tag("exception", "NotFoundException")
+                .tag("result", "failure")
+                .counter().count());
+    }
+}
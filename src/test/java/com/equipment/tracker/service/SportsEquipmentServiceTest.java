@@ -1,12 +1,23 @@
 package com.equipment.tracker.service;
+import com.equipment.tracker.dto.BatchItemResult;
+import com.equipment.tracker.dto.CursorPage;
+import com.equipment.tracker.dto.EquipmentSearchCriteria;
 import com.equipment.tracker.entity.*;
 import com.equipment.tracker.exception.BadRequestException;
 import com.equipment.tracker.exception.NotFoundException;
+import com.equipment.tracker.exception.PreconditionFailedException;
 import com.equipment.tracker.repository.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -21,10 +32,22 @@ class SportsEquipmentServiceTest {
     private SportsEquipmentRepository equipmentRepository;
 
     @Mock
-    private CategoryRepository categoryRepository;
+    private CategoryService categoryService;
 
     @Mock
-    private EquipmentConditionRepository conditionRepository;
+    private EquipmentConditionService conditionService;
+
+    @Mock
+    private CollectionVersions versions;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private EquipmentTombstoneRepository tombstoneRepository;
+
+    @Spy
+    private EquipmentLookupCache lookupCache = new EquipmentLookupCache(new SimpleMeterRegistry(), 100, 60);
 
     @InjectMocks
     private SportsEquipmentService equipmentService;
@@ -44,6 +67,12 @@ class SportsEquipmentServiceTest {
     }
 
     private SportsEquipment createEquipment() {
+        SportsEquipment e = createNewEquipment();
+        ReflectionTestUtils.setField(e, "equipmentId", UUID.randomUUID());
+        return e;
+    }
+
+    private SportsEquipment createNewEquipment() {
         SportsEquipment e = new SportsEquipment();
         e.setSerialNumber("SN123");
         e.setEquipmentName("Мяч");
@@ -56,34 +85,33 @@ class SportsEquipmentServiceTest {
 
     @Test
     void createEquipment_Success() {
-        SportsEquipment equipment = createEquipment();
+        SportsEquipment equipment = createNewEquipment();
 
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(createCategory()));
-        when(conditionRepository.findById(1)).thenReturn(Optional.of(createCondition()));
-        when(equipmentRepository.existsBySerialNumber("SN123")).thenReturn(false);
-        when(equipmentRepository.save(any())).thenAnswer(i -> {
-            SportsEquipment e = i.getArgument(0);
-            return e;
-        });
+        when(categoryService.findCategoryById(1)).thenReturn(Optional.of(createCategory()));
+        when(conditionService.findConditionById(1)).thenReturn(Optional.of(createCondition()));
+        when(equipmentRepository.saveAndFlush(any())).thenAnswer(i -> persisted(i.getArgument(0)));
 
         SportsEquipment created = equipmentService.createEquipment(equipment, 1, 1);
 
         assertNotNull(created.getEquipmentId());
         assertEquals("SN123", created.getSerialNumber());
-        verify(equipmentRepository).save(any());
+        verify(equipmentRepository).saveAndFlush(any());
+        verify(events).publishEvent(ChangeEvent.created(CollectionVersions.Kind.EQUIPMENT, created.getEquipmentId(), created));
     }
 
     @Test
-    void createEquipment_DuplicateSerial_ThrowsBadRequest() {
-        SportsEquipment equipment = createEquipment();
+    void createEquipment_DuplicateSerial_PropagatesConstraintViolation() {
+        SportsEquipment equipment = createNewEquipment();
 
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(createCategory()));
-        when(conditionRepository.findById(1)).thenReturn(Optional.of(createCondition()));
-        when(equipmentRepository.existsBySerialNumber("SN123")).thenReturn(true);
+        when(categoryService.findCategoryById(1)).thenReturn(Optional.of(createCategory()));
+        when(conditionService.findConditionById(1)).thenReturn(Optional.of(createCondition()));
+        when(equipmentRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_sports_equipment_serial_number"));
 
-        BadRequestException ex = assertThrows(BadRequestException.class,
+        assertThrows(DataIntegrityViolationException.class,
                 () -> equipmentService.createEquipment(equipment, 1, 1));
-        assertEquals("Серийный номер должен быть уникальным", ex.getMessage());
+        verify(versions, never()).bump(any());
+        verify(events, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -97,6 +125,44 @@ class SportsEquipmentServiceTest {
         assertEquals(equipment.getSerialNumber(), found.getSerialNumber());
     }
 
+    @Test
+    void getEquipmentById_RepeatedLookup_IsServedFromCache() {
+        SportsEquipment equipment = createEquipment();
+
+        when(equipmentRepository.findById(equipment.getEquipmentId())).thenReturn(Optional.of(equipment));
+
+        equipmentService.getEquipmentById(equipment.getEquipmentId());
+        SportsEquipment cached = equipmentService.getEquipmentById(equipment.getEquipmentId());
+
+        assertSame(equipment, cached);
+        verify(equipmentRepository, times(1)).findById(equipment.getEquipmentId());
+    }
+
+    @Test
+    void getEquipmentBySerialNumber_RepeatedLookup_IsServedFromCache() {
+        SportsEquipment equipment = createEquipment();
+
+        when(equipmentRepository.findEquipmentIdBySerialNumber("SN123")).thenReturn(equipment.getEquipmentId());
+        when(equipmentRepository.findById(equipment.getEquipmentId())).thenReturn(Optional.of(equipment));
+
+        equipmentService.getEquipmentBySerialNumber("SN123");
+        SportsEquipment cached = equipmentService.getEquipmentBySerialNumber("SN123");
+
+        assertSame(equipment, cached);
+        verify(equipmentRepository, times(1)).findEquipmentIdBySerialNumber("SN123");
+        verify(equipmentRepository, times(1)).findById(equipment.getEquipmentId());
+    }
+
+    @Test
+    void getEquipmentBySerialNumber_NotFound_ThrowsNotFound() {
+        when(equipmentRepository.findEquipmentIdBySerialNumber("SN404")).thenReturn(null);
+
+        NotFoundException ex = assertThrows(NotFoundException.class,
+                () -> equipmentService.getEquipmentBySerialNumber("SN404"));
+        assertTrue(ex.getMessage().contains("SN404"));
+        assertThrows(BadRequestException.class, () -> equipmentService.getEquipmentBySerialNumber(" "));
+    }
+
     @Test
     void getEquipmentById_NotFound_ThrowsNotFound() {
         UUID id = UUID.randomUUID();
@@ -120,12 +186,11 @@ class SportsEquipmentServiceTest {
         updated.setEndOfServiceDate(LocalDate.now().plusDays(500));
 
         when(equipmentRepository.findById(id)).thenReturn(Optional.of(existing));
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(createCategory()));
-        when(conditionRepository.findById(1)).thenReturn(Optional.of(createCondition()));
-        when(equipmentRepository.existsBySerialNumber("SN456")).thenReturn(false);
-        when(equipmentRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(categoryService.findCategoryById(1)).thenReturn(Optional.of(createCategory()));
+        when(conditionService.findConditionById(1)).thenReturn(Optional.of(createCondition()));
+        when(equipmentRepository.saveAndFlush(any())).thenAnswer(i -> i.getArgument(0));
 
-        SportsEquipment result = equipmentService.updateEquipment(id, updated, 1, 1);
+        SportsEquipment result = equipmentService.updateEquipment(id, updated, 1, 1, null);
 
         assertEquals("SN456", result.getSerialNumber());
         assertEquals("Мяч обновлённый", result.getEquipmentName());
@@ -133,7 +198,7 @@ class SportsEquipmentServiceTest {
     }
 
     @Test
-    void updateEquipment_DuplicateSerial_ThrowsBadRequest() {
+    void updateEquipment_DuplicateSerial_PropagatesConstraintViolation() {
         SportsEquipment existing = createEquipment();
         UUID id = existing.getEquipmentId();
 
@@ -141,35 +206,340 @@ class SportsEquipmentServiceTest {
         updated.setSerialNumber("SN456");
 
         when(equipmentRepository.findById(id)).thenReturn(Optional.of(existing));
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(createCategory()));
-        when(conditionRepository.findById(1)).thenReturn(Optional.of(createCondition()));
-        when(equipmentRepository.existsBySerialNumber("SN456")).thenReturn(true);
+        when(categoryService.findCategoryById(1)).thenReturn(Optional.of(createCategory()));
+        when(conditionService.findConditionById(1)).thenReturn(Optional.of(createCondition()));
+        when(equipmentRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_sports_equipment_serial_number"));
 
-        BadRequestException ex = assertThrows(BadRequestException.class,
-                () -> equipmentService.updateEquipment(id, updated, 1, 1));
-        assertEquals("Серийный номер должен быть уникальным", ex.getMessage());
+        assertThrows(DataIntegrityViolationException.class,
+                () -> equipmentService.updateEquipment(id, updated, 1, 1, null));
+    }
+
+    @Test
+    void updateEquipment_StaleVersion_ThrowsPreconditionFailed() {
+        SportsEquipment stored = createStoredEquipment(5);
+        UUID id = stored.getEquipmentId();
+        SportsEquipment updated = createEquipment();
+        updated.setQuantity(99);
+
+        when(equipmentRepository.findById(id)).thenReturn(Optional.of(stored));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> equipmentService.updateEquipment(id, updated, 1, 1, 4L));
+        assertEquals(10, stored.getQuantity());
+        verify(equipmentRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void deleteEquipment_Success() {
         UUID id = UUID.randomUUID();
 
-        when(equipmentRepository.existsById(id)).thenReturn(true);
-        doNothing().when(equipmentRepository).deleteById(id);
+        when(equipmentRepository.deleteByEquipmentId(id)).thenReturn(1);
 
         assertDoesNotThrow(() -> equipmentService.deleteEquipment(id));
-        verify(equipmentRepository).deleteById(id);
+        verify(equipmentRepository, never()).findById(any());
+        verify(tombstoneRepository).insert(eq(id), any());
+        verify(events).publishEvent(ChangeEvent.deleted(CollectionVersions.Kind.EQUIPMENT, id));
     }
 
     @Test
     void deleteEquipment_NotFound_ThrowsNotFound() {
         UUID id = UUID.randomUUID();
 
-        when(equipmentRepository.existsById(id)).thenReturn(false);
+        when(equipmentRepository.deleteByEquipmentId(id)).thenReturn(0);
 
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> equipmentService.deleteEquipment(id));
         assertTrue(ex.getMessage().contains("Не найдено оборудование"));
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    void getEquipmentPage_ReturnsNextCursorWhenMoreRowsExist() {
+        SportsEquipment first = createEquipment();
+        SportsEquipment second = createEquipment();
+        second.setSerialNumber("SN456");
+
+        when(equipmentRepository.findPage(null, EquipmentSortKey.SERIAL_NUMBER, Sort.Direction.ASC, null, 2))
+                .thenReturn(new ArrayList<>(List.of(first, second)));
+
+        CursorPage<SportsEquipment> page = equipmentService.getEquipmentPage("serialNumber", "ASC", null, 1);
+
+        assertEquals(1, page.items().size());
+        assertNotNull(page.next());
+        EquipmentCursor cursor = EquipmentCursor.decode(page.next(), EquipmentSortKey.SERIAL_NUMBER, Sort.Direction.ASC);
+        assertEquals("SN123", cursor.value());
+        assertEquals(first.getEquipmentId(), cursor.equipmentId());
+    }
+
+    @Test
+    void getEquipmentPage_LastPageHasNoCursor() {
+        when(equipmentRepository.findPage(null, EquipmentSortKey.SERIAL_NUMBER, Sort.Direction.ASC, null, 51))
+                .thenReturn(List.of(createEquipment()));
+
+        CursorPage<SportsEquipment> page = equipmentService.getEquipmentPage("serialNumber", "ASC", null, 50);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.next());
+    }
+
+    @Test
+    void getEquipmentPage_CursorForOtherSort_ThrowsBadRequest() {
+        String cursor = new EquipmentCursor(EquipmentSortKey.QUANTITY, Sort.Direction.ASC, 10, UUID.randomUUID()).encode();
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> equipmentService.getEquipmentPage("serialNumber", "ASC", cursor, 50));
+        assertEquals("Курсор выдан для другой сортировки", ex.getMessage());
+    }
+
+    @Test
+    void getEquipmentFieldsPage_AddsSortFieldAndBuildsCursorFromRow() {
+        UUID firstId = UUID.randomUUID();
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("equipmentId", firstId);
+        first.put("equipmentName", "Мяч");
+        first.put("quantity", 7);
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("equipmentId", UUID.randomUUID());
+        second.put("equipmentName", "Ракетка");
+        second.put("quantity", 9);
+        Set<EquipmentField> expectedFields = EnumSet.of(EquipmentField.EQUIPMENT_ID, EquipmentField.EQUIPMENT_NAME, EquipmentField.QUANTITY);
+
+        when(equipmentRepository.findFields(null, expectedFields, EquipmentSortKey.QUANTITY, Sort.Direction.ASC, null, 2))
+                .thenReturn(new ArrayList<>(List.of(first, second)));
+
+        CursorPage<Map<String, Object>> page = equipmentService.getEquipmentFieldsPage("equipmentName", "quantity", "ASC", null, 1);
+
+        assertEquals(List.of(first), page.items());
+        EquipmentCursor cursor = EquipmentCursor.decode(page.next(), EquipmentSortKey.QUANTITY, Sort.Direction.ASC);
+        assertEquals(7, cursor.value());
+        assertEquals(firstId, cursor.equipmentId());
+        verify(equipmentRepository, never()).findPage(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getAllEquipmentFields_UnknownField_ThrowsBadRequest() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> equipmentService.getAllEquipmentFields("serialNumber,password", "serialNumber", "ASC"));
+        assertEquals("Поле password не поддерживается", ex.getMessage());
+        verifyNoInteractions(equipmentRepository);
+    }
+
+    @Test
+    void createEquipmentBatch_RejectsInvalidItemsAndSavesTheRest() {
+        SportsEquipment valid = createNewEquipment();
+        SportsEquipment duplicateInBatch = createNewEquipment();
+        SportsEquipment takenSerial = createNewEquipment();
+        takenSerial.setSerialNumber("SN999");
+        SportsEquipment unknownCategory = createNewEquipment();
+        unknownCategory.setSerialNumber("SN777");
+        Category missing = new Category();
+        missing.setCategoryId(42);
+        unknownCategory.setCategory(missing);
+
+        when(categoryService.findCategoryById(1)).thenReturn(Optional.of(createCategory()));
+        when(categoryService.findCategoryById(42)).thenReturn(Optional.empty());
+        when(conditionService.findConditionById(1)).thenReturn(Optional.of(createCondition()));
+        when(equipmentRepository.findExistingSerialNumbers(Set.of("SN123", "SN999", "SN777"))).thenReturn(List.of("SN999"));
+        when(equipmentRepository.saveAll(List.of(valid))).thenAnswer(i -> {
+            List<SportsEquipment> saved = i.getArgument(0);
+            saved.forEach(SportsEquipmentServiceTest::persisted);
+            return saved;
+        });
+
+        List<BatchItemResult> results = equipmentService.createEquipmentBatch(
+                List.of(valid, duplicateInBatch, takenSerial, unknownCategory));
+
+        assertEquals(BatchItemResult.Status.CREATED, results.get(0).status());
+        assertNotNull(results.get(0).equipmentId());
+        assertEquals(valid.getEquipmentId(), results.get(0).equipmentId());
+        assertEquals("Серийный номер должен быть уникальным", results.get(1).error());
+        assertEquals("Серийный номер должен быть уникальным", results.get(2).error());
+        assertEquals("Категория не найдена с id: 42", results.get(3).error());
+        verify(equipmentRepository).saveAll(List.of(valid));
+        verify(events).publishEvent(ChangeEvent.batchCreated(CollectionVersions.Kind.EQUIPMENT, List.of(valid)));
+        verify(events, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void createEquipmentBatch_Empty_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> equipmentService.createEquipmentBatch(List.of()));
+    }
+
+    @Test
+    void searchEquipment_PassesFiltersToRepository() {
+        EquipmentSearchCriteria criteria = new EquipmentSearchCriteria(1, null, 5, 10, null, null, null, null, "мя");
+        when(equipmentRepository.findPage(notNull(), eq(EquipmentSortKey.QUANTITY), eq(Sort.Direction.DESC), isNull(), eq(51)))
+                .thenReturn(List.of(createEquipment()));
+
+        CursorPage<SportsEquipment> page = equipmentService.searchEquipment(criteria, "quantity", "DESC", null, 50);
+
+        assertEquals(1, page.items().size());
+    }
+
+    @Test
+    void searchEquipment_InvertedQuantityRange_ThrowsBadRequest() {
+        EquipmentSearchCriteria criteria = new EquipmentSearchCriteria(null, null, 10, 5, null, null, null, null, null);
+
+        assertThrows(BadRequestException.class,
+                () -> equipmentService.searchEquipment(criteria, "serialNumber", "ASC", null, 50));
+        verify(equipmentRepository, never()).findPage(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void fullTextSearch_KeepsRankOrderAndReturnsKeysetCursor() {
+        SportsEquipment best = createEquipment();
+        SportsEquipment second = createEquipment();
+        second.setSerialNumber("SN456");
+        List<FullTextMatch> matches = List.of(match(best.getEquipmentId(), 0.9f), match(second.getEquipmentId(), 0.5f),
+                match(UUID.randomUUID(), 0.1f));
+
+        when(equipmentRepository.searchFullText("шлем", Float.POSITIVE_INFINITY, new UUID(0, 0), 3)).thenReturn(matches);
+        when(equipmentRepository.findAllById(List.of(best.getEquipmentId(), second.getEquipmentId())))
+                .thenReturn(List.of(second, best));
+
+        CursorPage<SportsEquipment> page = equipmentService.fullTextSearch(" шлем ", null, 2);
+
+        assertEquals(List.of(best, second), page.items());
+        assertEquals(new FullTextCursor(0.5f, second.getEquipmentId()), FullTextCursor.decode(page.next()));
+    }
+
+    @Test
+    void fullTextSearch_ContinuesAfterCursor() {
+        SportsEquipment last = createEquipment();
+        UUID previous = UUID.randomUUID();
+        String after = new FullTextCursor(0.5f, previous).encode();
+
+        when(equipmentRepository.searchFullText("шлем", 0.5f, previous, 3)).thenReturn(List.of(match(last.getEquipmentId(), 0.5f)));
+        when(equipmentRepository.findAllById(List.of(last.getEquipmentId()))).thenReturn(List.of(last));
+
+        CursorPage<SportsEquipment> page = equipmentService.fullTextSearch("шлем", after, 2);
+
+        assertEquals(List.of(last), page.items());
+        assertNull(page.next());
+    }
+
+    @Test
+    void fullTextSearch_InvalidCursor_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> equipmentService.fullTextSearch("шлем", "2", 20));
+        verify(equipmentRepository, never()).searchFullText(any(), anyFloat(), any(), anyInt());
+    }
+
+    @Test
+    void fullTextSearch_BlankQuery_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> equipmentService.fullTextSearch(" ", null, 20));
     }
-}
 
+    private SportsEquipment createStoredEquipment(long version) {
+        SportsEquipment equipment = createEquipment();
+        equipment.setDescription("Описание");
+        equipment.setLastCheckDate(LocalDate.of(2025, 1, 1));
+        ReflectionTestUtils.setField(equipment, "version", version);
+        return equipment;
+    }
+
+    /**
+     * Повторяет назначение ID при persist, которое в тестах с заглушкой репозитория не происходит.
+     */
+    private static SportsEquipment persisted(SportsEquipment equipment) {
+        ReflectionTestUtils.invokeMethod(equipment, "assignId");
+        return equipment;
+    }
+
+    private static FullTextMatch match(UUID id, float rank) {
+        return new FullTextMatch() {
+            @Override
+            public UUID getEquipmentId() {
+                return id;
+            }
+
+            @Override
+            public float getRank() {
+                return rank;
+            }
+        };
+    }
+
+    private static JsonNode json(String content) throws Exception {
+        return new ObjectMapper().readTree(content);
+    }
+
+    @Test
+    void patchEquipment_ChangesOnlyGivenFieldsWithoutReferenceLookups() throws Exception {
+        SportsEquipment stored = createStoredEquipment(3);
+        UUID id = stored.getEquipmentId();
+        when(equipmentRepository.findById(id)).thenReturn(Optional.of(stored));
+        when(equipmentRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        SportsEquipment patched = equipmentService.patchEquipment(id, json("{\"lastCheckDate\": \"2026-03-01\"}"), 3L);
+
+        assertEquals(LocalDate.of(2026, 3, 1), patched.getLastCheckDate());
+        assertEquals("SN123", patched.getSerialNumber());
+        assertEquals(10, patched.getQuantity());
+        assertEquals("Описание", patched.getDescription());
+        verifyNoInteractions(categoryService, conditionService);
+        verify(versions).bump(CollectionVersions.Kind.EQUIPMENT);
+    }
+
+    @Test
+    void patchEquipment_NullClearsOptionalField() throws Exception {
+        SportsEquipment stored = createStoredEquipment(0);
+        UUID id = stored.getEquipmentId();
+        when(equipmentRepository.findById(id)).thenReturn(Optional.of(stored));
+        when(equipmentRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        SportsEquipment patched = equipmentService.patchEquipment(id, json("{\"description\": null}"), null);
+
+        assertNull(patched.getDescription());
+    }
+
+    @Test
+    void patchEquipment_ChangesCategory() throws Exception {
+        SportsEquipment stored = createStoredEquipment(0);
+        UUID id = stored.getEquipmentId();
+        Category other = createCategory();
+        other.setCategoryId(2);
+        when(equipmentRepository.findById(id)).thenReturn(Optional.of(stored));
+        when(categoryService.findCategoryById(2)).thenReturn(Optional.of(other));
+        when(equipmentRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        SportsEquipment patched = equipmentService.patchEquipment(id, json("{\"category\": {\"categoryId\": 2}}"), null);
+
+        assertEquals(2, patched.getCategory().getCategoryId());
+        verifyNoInteractions(conditionService);
+    }
+
+    @Test
+    void patchEquipment_StaleVersion_ThrowsPreconditionFailed() throws Exception {
+        SportsEquipment stored = createStoredEquipment(5);
+        UUID id = stored.getEquipmentId();
+        when(equipmentRepository.findById(id)).thenReturn(Optional.of(stored));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> equipmentService.patchEquipment(id, json("{\"quantity\": 1}"), 4L));
+        verify(equipmentRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void patchEquipment_ReadOnlyField_ThrowsBadRequest() throws Exception {
+        SportsEquipment stored = createStoredEquipment(0);
+        UUID id = stored.getEquipmentId();
+        when(equipmentRepository.findById(id)).thenReturn(Optional.of(stored));
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> equipmentService.patchEquipment(id, json("{\"equipmentId\": \"x\"}"), null));
+        assertEquals("Поле equipmentId нельзя изменить", ex.getMessage());
+    }
+
+    @Test
+    void patchEquipment_NullRequiredField_ThrowsBadRequest() throws Exception {
+        SportsEquipment stored = createStoredEquipment(0);
+        UUID id = stored.getEquipmentId();
+        when(equipmentRepository.findById(id)).thenReturn(Optional.of(stored));
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> equipmentService.patchEquipment(id, json("{\"serialNumber\": null}"), null));
+        assertEquals("Серийный номер не может быть пустым", ex.getMessage());
+        verify(equipmentRepository, never()).saveAndFlush(any());
+    }
+}